@@ -0,0 +1,89 @@
+package com.satellite.eclipse.controller;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.satellite.eclipse.model.EclipsePeriod;
+import com.satellite.eclipse.service.archive.EclipseArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contrôleur REST pour l'archive historique des éclipses.
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@Slf4j
+public class EclipseArchiveController {
+
+    private final EclipseArchiveService eclipseArchiveService;
+
+    /**
+     * Endpoint pour ajouter des périodes d'éclipse à l'historique d'un satellite.
+     * 
+     * @param noradId Identifiant NORAD du satellite
+     * @param periods Périodes d'éclipse à archiver, dans l'ordre chronologique
+     * @return Réponse vide en cas de succès
+     */
+    @PostMapping("/{noradId}")
+    public ResponseEntity<?> append(@PathVariable String noradId, @RequestBody List<EclipsePeriod> periods) {
+        log.info("Archivage de {} périodes d'éclipse pour le satellite: {}", periods.size(), noradId);
+        
+        try {
+            eclipseArchiveService.append(noradId, periods);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return errorResponse("Erreur lors de l'archivage des éclipses", e);
+        }
+    }
+
+    /**
+     * Endpoint pour lire l'historique des éclipses d'un satellite sur un intervalle.
+     * 
+     * @param noradId Identifiant NORAD du satellite
+     * @param from Début de l'intervalle (ISO-8601)
+     * @param to Fin de l'intervalle (ISO-8601)
+     * @return Liste des périodes d'éclipse archivées
+     */
+    @GetMapping("/{noradId}")
+    public ResponseEntity<?> query(@PathVariable String noradId, @RequestParam Instant from,
+            @RequestParam Instant to) {
+        log.info("Lecture de l'archive du satellite {} entre {} et {}", noradId, from, to);
+        
+        try {
+            return ResponseEntity.ok(eclipseArchiveService.query(noradId, from, to));
+        } catch (Exception e) {
+            return errorResponse("Erreur lors de la lecture de l'archive", e);
+        }
+    }
+
+    private ResponseEntity<?> errorResponse(String error, Exception e) {
+        log.error("{}: {}", error, e.getMessage(), e);
+        
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", error);
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("stackTrace", Arrays.stream(e.getStackTrace())
+                .map(StackTraceElement::toString)
+                .limit(20)
+                .collect(Collectors.toList()));
+        
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.satellite.eclipse.model.EclipsePeriod;
 import com.satellite.eclipse.model.EclipseRequest;
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
 import com.satellite.eclipse.service.EclipseCalculatorService;
 
 import lombok.RequiredArgsConstructor;
@@ -60,4 +62,33 @@ public class EclipseCalculatorController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    /**
+     * Endpoint pour cribler les éclipses d'une flotte de satellites sur une grille commune.
+     * 
+     * @param request La requête contenant les TLE de la flotte et la période de calcul
+     * @return Bilan d'éclipses par satellite
+     */
+    @PostMapping("/screen")
+    public ResponseEntity<?> screenFleet(@RequestBody FleetScreeningRequest request) {
+        log.info("Réception d'une requête de criblage d'éclipses pour {} satellites", 
+                request.getSatellites().size());
+        
+        try {
+            List<SatelliteEclipseSummary> summaries = eclipseCalculatorService.screenFleet(request);
+            return ResponseEntity.ok(summaries);
+        } catch (Exception e) {
+            log.error("Erreur lors du criblage de la flotte: {}", e.getMessage(), e);
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Erreur lors du criblage de la flotte");
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("stackTrace", Arrays.stream(e.getStackTrace())
+                    .map(StackTraceElement::toString)
+                    .limit(20)
+                    .collect(Collectors.toList()));
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.satellite.eclipse.controller;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
+import com.satellite.eclipse.service.coordinator.FleetCoordinatorService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contrôleur REST du mode coordinateur : répartit le criblage d'une flotte
+ * entre plusieurs instances de l'application.
+ */
+@RestController
+@RequestMapping("/api/coordinator")
+@RequiredArgsConstructor
+@Slf4j
+@Profile("coordinator")
+public class FleetCoordinatorController {
+
+    private final FleetCoordinatorService fleetCoordinatorService;
+
+    /**
+     * Endpoint pour cribler les éclipses d'une flotte sur l'ensemble des workers.
+     * 
+     * @param request La requête contenant les TLE de la flotte et la période de calcul
+     * @return Bilan d'éclipses par satellite
+     */
+    @PostMapping("/screen")
+    public ResponseEntity<?> screenFleet(@RequestBody FleetScreeningRequest request) {
+        log.info("Réception d'une requête de criblage distribué pour {} satellites", 
+                request.getSatellites().size());
+        
+        try {
+            List<SatelliteEclipseSummary> summaries = fleetCoordinatorService.screenFleet(request);
+            return ResponseEntity.ok(summaries);
+        } catch (Exception e) {
+            log.error("Erreur lors du criblage distribué: {}", e.getMessage(), e);
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Erreur lors du criblage distribué");
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("stackTrace", Arrays.stream(e.getStackTrace())
+                    .map(StackTraceElement::toString)
+                    .limit(20)
+                    .collect(Collectors.toList()));
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.satellite.eclipse.model;
+
+/**
+ * Mode de calcul des périodes d'éclipse.
+ */
+public enum CalculationMode {
+    /** Propagation Orekit avec détection d'événements (précision sub-seconde). */
+    PRECISE,
+    /** Moteur SGP4 par lots sur grille fixe (précision d'une fraction de pas). */
+    SCREENING
+}
@@ -19,5 +19,10 @@ public class EclipseRequest {
     private TleData tleData;
     private Instant startDate;
     private Instant endDate;
-    private int stepInSeconds = 60; // Pas de calcul par défaut (60 secondes)
+    private int stepInSeconds = 60; // Pas de la grille du mode SCREENING (60 secondes par défaut)
+    private CalculationMode mode = CalculationMode.PRECISE; // Mode de calcul (précis par défaut)
+
+    public EclipseRequest(TleData tleData, Instant startDate, Instant endDate, int stepInSeconds) {
+        this(tleData, startDate, endDate, stepInSeconds, CalculationMode.PRECISE);
+    }
 }
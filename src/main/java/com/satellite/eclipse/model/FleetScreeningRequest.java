@@ -0,0 +1,21 @@
+package com.satellite.eclipse.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Classe représentant une requête de criblage d'éclipses pour une flotte de satellites.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetScreeningRequest {
+    private List<TleData> satellites;
+    private Instant startDate;
+    private Instant endDate;
+    private int stepInSeconds = 60; // Pas de la grille de temps commune (60 secondes)
+}
@@ -0,0 +1,25 @@
+package com.satellite.eclipse.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Classe représentant le bilan d'éclipses d'un satellite issu du criblage de flotte.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatelliteEclipseSummary {
+    private String satelliteName;
+    private int eclipseCount;        // Nombre d'éclipses détectées sur la période
+    private double eclipseMinutes;   // Durée cumulée d'éclipse en minutes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;            // Cause de l'échec si le satellite n'a pas pu être criblé
+
+    public SatelliteEclipseSummary(String satelliteName, int eclipseCount, double eclipseMinutes) {
+        this(satelliteName, eclipseCount, eclipseMinutes, null);
+    }
+}
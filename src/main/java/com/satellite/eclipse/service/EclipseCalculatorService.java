@@ -2,13 +2,11 @@ package com.satellite.eclipse.service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
-import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
 import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
@@ -18,13 +16,11 @@ import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.orbits.CartesianOrbit;
 import org.orekit.propagation.Propagator;
-import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.analytical.KeplerianPropagator;
 import org.orekit.propagation.analytical.tle.TLE;
 import org.orekit.propagation.analytical.tle.TLEPropagator;
 import org.orekit.propagation.events.EclipseDetector;
 import org.orekit.propagation.events.EventDetector;
-import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
@@ -33,13 +29,19 @@ import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.satellite.eclipse.model.CalculationMode;
 import com.satellite.eclipse.model.EclipsePeriod;
 import com.satellite.eclipse.model.EclipseRequest;
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
 import com.satellite.eclipse.model.TleData;
+import com.satellite.eclipse.service.screening.FleetScreener;
+import com.satellite.eclipse.service.screening.Sgp4BatchPropagator;
 
 /**
  * Service pour calculer les périodes d'éclipse d'un satellite en utilisant Orekit.
@@ -48,6 +50,12 @@ import com.satellite.eclipse.model.TleData;
 public class EclipseCalculatorService {
     private static final Logger logger = LoggerFactory.getLogger(EclipseCalculatorService.class);
 
+    private static final String INVALID_PROPAGATION =
+            "Propagation SGP4 impossible sur la période (satellite retombé ou orbite dégénérée)";
+
+    private static final ThreadLocal<EclipseEventAccumulator> ACCUMULATORS =
+            ThreadLocal.withInitial(EclipseEventAccumulator::new);
+
     private final OrekitDataLoader dataLoader;
 
     public EclipseCalculatorService(OrekitDataLoader dataLoader) {
@@ -63,6 +71,10 @@ public class EclipseCalculatorService {
     public List<EclipsePeriod> calculateEclipsePeriods(EclipseRequest request) {
         logger.info("Calcul des périodes d'éclipse pour le satellite: {}", 
                 request.getTleData().getSatelliteName());
+
+        if (request.getMode() == CalculationMode.SCREENING) {
+            return screenEclipsePeriods(request);
+        }
         
         try {
             // Création de l'objet TLE à partir des données
@@ -81,82 +93,161 @@ public class EclipseCalculatorService {
             
             // Obtenir les corps célestes pour la détection d'éclipse
             Frame inertialFrame = FramesFactory.getEME2000();
-            CelestialBody sun = CelestialBodyFactory.getSun();
+            PVCoordinatesProvider sun = sun();
             OneAxisEllipsoid earth = new OneAxisEllipsoid(
                     Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
                     Constants.WGS84_EARTH_FLATTENING,
                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
             
-            // Créer le détecteur d'éclipse pour le Soleil
-            final List<EclipsePeriod> eclipsePeriods = new ArrayList<>();
-            final boolean[] inEclipse = {false};
-            final Instant[] entryTime = {null};
-            
-            // Handler d'événement pour l'éclipse
-            EventHandler<EclipseDetector> eclipseHandler = new EventHandler<EclipseDetector>() {
-                @Override
-                public Action eventOccurred(SpacecraftState s, EclipseDetector detector, boolean increasing) {
-                    AbsoluteDate currentDate = s.getDate();
-                    Instant currentInstant = Instant.ofEpochMilli(
-                            currentDate.toDate(TimeScalesFactory.getUTC()).getTime());
-                    
-                    if (!increasing) { // Entrée dans l'éclipse
-                        inEclipse[0] = true;
-                        entryTime[0] = currentInstant;
-                        logger.debug("Entrée en éclipse à {}", currentInstant);
-                    } else { // Sortie de l'éclipse
-                        inEclipse[0] = false;
-                        
-                        if (entryTime[0] != null) {
-                            // Calculer la durée de l'éclipse
-                            double durationMinutes = Duration.between(entryTime[0], currentInstant)
-                                    .getSeconds() / 60.0;
-                            
-                            // Ajouter la période d'éclipse à la liste
-                            eclipsePeriods.add(new EclipsePeriod(
-                                    entryTime[0],
-                                    currentInstant,
-                                    durationMinutes,
-                                    "umbra"
-                            ));
-                            
-                            logger.debug("Sortie d'éclipse à {}, durée: {} minutes", 
-                                    currentInstant, durationMinutes);
-                        }
-                        
-                        entryTime[0] = null;
-                    }
-                    // Continuer la propagation
-                    return Action.CONTINUE;
-                }
-
-                @Override
-                public SpacecraftState resetState(EclipseDetector detector, SpacecraftState oldState) {
-                    return oldState;
-                }
-            };
+            // Collecteur d'événements réutilisé par le thread courant
+            EclipseEventAccumulator accumulator = ACCUMULATORS.get();
+            accumulator.reset(startDate);
             
             // Créer et ajouter le détecteur d'éclipse
             EclipseDetector eclipseDetector = new EclipseDetector(sun, Constants.SUN_RADIUS, earth)
-                    .withHandler(eclipseHandler);
+                    .withHandler(accumulator);
             
             propagator.addEventDetector(eclipseDetector);
             
-            // Configurer le propagateur pour utiliser des pas fixes
-            double stepInSeconds = request.getStepInSeconds();
-            propagator.getMultiplexer().add(stepInSeconds, currentState -> {
-                // Vous pouvez ajouter du traitement supplémentaire à chaque pas si nécessaire
-            });
-            
             // Propager l'orbite pour calculer les éclipses
             propagator.propagate(startDate, endDate);
             
-            logger.info("Calcul terminé. Nombre de périodes d'éclipse trouvées: {}", eclipsePeriods.size());
-            return eclipsePeriods;
+            logger.info("Calcul terminé. Nombre de périodes d'éclipse trouvées: {}", accumulator.size());
+            return accumulator.toEclipsePeriods();
             
         } catch (Exception e) {
             logger.error("Erreur lors du calcul des périodes d'éclipse", e);
             throw new RuntimeException("Erreur lors du calcul des périodes d'éclipse", e);
         }
     }
+
+    /**
+     * Calcule les périodes d'éclipse d'un satellite avec le moteur de criblage SGP4.
+     * Les instants sont estimés par interpolation sur la grille de la requête.
+     * Comme en mode précis, les éclipses tronquées par les bords de la fenêtre sont ignorées.
+     * La requête échoue si la propagation SGP4 devient invalide pendant la période.
+     * 
+     * @param request La requête contenant les données TLE et la période de calcul
+     * @return Liste des périodes d'éclipse détectées
+     */
+    private List<EclipsePeriod> screenEclipsePeriods(EclipseRequest request) {
+        validateWindow(request.getStartDate(), request.getEndDate(), request.getStepInSeconds());
+
+        try {
+            TLE tle = new TLE(request.getTleData().getLine1(), request.getTleData().getLine2());
+            AbsoluteDate startDate = new AbsoluteDate(Date.from(request.getStartDate()), 
+                    TimeScalesFactory.getUTC());
+            double duration = Duration.between(request.getStartDate(), request.getEndDate()).toNanos() / 1.0e9;
+
+            EclipseEventAccumulator accumulator = ACCUMULATORS.get();
+            accumulator.reset(startDate);
+            FleetScreener screener = new FleetScreener(new Sgp4BatchPropagator(List.of(tle), startDate),
+                    sun(), FramesFactory.getTEME());
+            double[] totals = screener.screen(startDate, duration, request.getStepInSeconds(),
+                    (index, entry, exit, complete) -> {
+                        if (complete) {
+                            accumulator.add(entry, exit);
+                        }
+                    });
+            if (Double.isNaN(totals[0])) {
+                throw new IllegalStateException(INVALID_PROPAGATION);
+            }
+
+            logger.info("Criblage terminé. Nombre de périodes d'éclipse trouvées: {}", accumulator.size());
+            return accumulator.toEclipsePeriods();
+
+        } catch (Exception e) {
+            logger.error("Erreur lors du criblage des périodes d'éclipse", e);
+            throw new RuntimeException("Erreur lors du criblage des périodes d'éclipse", e);
+        }
+    }
+
+    /**
+     * Crible les éclipses d'une flotte de satellites sur une grille de temps commune.
+     * Destiné aux bilans grossiers (minutes d'éclipse par satellite) sur des milliers
+     * d'objets ; utiliser {@link #calculateEclipsePeriods} pour des instants précis.
+     * Les éclipses tronquées par les bords de la fenêtre sont comptées, bornées à la fenêtre.
+     * Un satellite dont le TLE est illisible ou dont la propagation échoue est renvoyé
+     * avec le champ {@code error} renseigné, sans faire échouer le reste de la flotte.
+     * 
+     * @param request La requête contenant les TLE de la flotte et la période de calcul
+     * @return Bilan d'éclipses par satellite, dans l'ordre de la requête
+     */
+    public List<SatelliteEclipseSummary> screenFleet(FleetScreeningRequest request) {
+        List<TleData> satellites = request.getSatellites();
+        logger.info("Criblage des éclipses pour {} satellites", satellites.size());
+        validateWindow(request.getStartDate(), request.getEndDate(), request.getStepInSeconds());
+
+        // Lecture satellite par satellite : un TLE invalide n'écarte que lui-même
+        SatelliteEclipseSummary[] summaries = new SatelliteEclipseSummary[satellites.size()];
+        List<TLE> tles = new ArrayList<>(satellites.size());
+        int[] requestIndices = new int[satellites.size()];
+        for (int i = 0; i < satellites.size(); i++) {
+            TleData tleData = satellites.get(i);
+            try {
+                tles.add(new TLE(tleData.getLine1(), tleData.getLine2()));
+                requestIndices[tles.size() - 1] = i;
+            } catch (RuntimeException e) {
+                logger.warn("TLE invalide pour le satellite {}: {}", tleData.getSatelliteName(), e.getMessage());
+                summaries[i] = new SatelliteEclipseSummary(tleData.getSatelliteName(), 0, 0.0,
+                        "TLE invalide: " + e.getMessage());
+            }
+        }
+        if (tles.isEmpty()) {
+            return List.of(summaries);
+        }
+
+        try {
+            AbsoluteDate startDate = new AbsoluteDate(Date.from(request.getStartDate()), 
+                    TimeScalesFactory.getUTC());
+            double duration = Duration.between(request.getStartDate(), request.getEndDate()).toNanos() / 1.0e9;
+
+            final int[] eclipseCounts = new int[tles.size()];
+            FleetScreener screener = new FleetScreener(new Sgp4BatchPropagator(tles, startDate),
+                    sun(), FramesFactory.getTEME());
+            double[] totals = screener.screen(startDate, duration, request.getStepInSeconds(),
+                    (index, entry, exit, complete) -> eclipseCounts[index]++);
+
+            for (int j = 0; j < tles.size(); j++) {
+                int i = requestIndices[j];
+                String name = satellites.get(i).getSatelliteName();
+                if (Double.isNaN(totals[j])) {
+                    summaries[i] = new SatelliteEclipseSummary(name, 0, 0.0, INVALID_PROPAGATION);
+                } else {
+                    summaries[i] = new SatelliteEclipseSummary(name, eclipseCounts[j], totals[j] / 60.0);
+                }
+            }
+
+            logger.info("Criblage de flotte terminé pour {} satellites", summaries.length);
+            return List.of(summaries);
+
+        } catch (Exception e) {
+            logger.error("Erreur lors du criblage de la flotte", e);
+            throw new RuntimeException("Erreur lors du criblage de la flotte", e);
+        }
+    }
+
+    /**
+     * Fournit la position du Soleil utilisée par la détection d'éclipse.
+     * 
+     * @return Le Soleil (éphémérides JPL)
+     */
+    PVCoordinatesProvider sun() {
+        return CelestialBodyFactory.getSun();
+    }
+
+    /**
+     * Vérifie la fenêtre de calcul d'une requête de criblage.
+     * Également appelée par le coordinateur avant toute répartition.
+     * 
+     * @throws IllegalArgumentException si le pas n'est pas positif ou si la fin précède le début
+     */
+    public static void validateWindow(Instant startDate, Instant endDate, int stepInSeconds) {
+        if (stepInSeconds <= 0) {
+            throw new IllegalArgumentException("Le pas de calcul doit être strictement positif: " + stepInSeconds);
+        }
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package com.satellite.eclipse.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.ode.events.Action;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EclipseDetector;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+import com.satellite.eclipse.model.EclipsePeriod;
+
+/**
+ * Collecteur réutilisable des événements d'éclipse.
+ *
+ * Les instants d'entrée et de sortie sont stockés en secondes (double) depuis
+ * une date de référence, dans des tableaux primitifs qui ne sont réalloués que
+ * lorsque leur capacité est dépassée. Aucun objet n'est créé pendant la
+ * propagation ; les {@link EclipsePeriod} ne sont construits qu'à la sortie,
+ * par {@link #toEclipsePeriods()}, avec une précision à la nanoseconde.
+ *
+ * Les décalages sont des secondes SI : la conversion en {@link Instant} passe
+ * par l'échelle UTC d'Orekit afin de tenir compte des secondes intercalaires.
+ *
+ * Une instance n'est pas thread-safe : elle est destinée à être réutilisée
+ * par un même thread via {@link #reset}.
+ */
+public class EclipseEventAccumulator implements EventHandler<EclipseDetector> {
+    private static final int INITIAL_CAPACITY = 32;
+    // Jour julien modifié du 1970-01-01
+    private static final long MJD_EPOCH_DAY = 40587L;
+
+    private AbsoluteDate referenceDate;
+    private TimeScale utc;
+    private double[] entries = new double[INITIAL_CAPACITY];
+    private double[] exits = new double[INITIAL_CAPACITY];
+    private int count;
+    private double pendingEntry = Double.NaN;
+
+    /**
+     * Prépare le collecteur pour un nouveau calcul en conservant ses tableaux.
+     *
+     * @param referenceDate Date de référence des décalages
+     */
+    public void reset(AbsoluteDate referenceDate) {
+        this.referenceDate = referenceDate;
+        this.utc = TimeScalesFactory.getUTC();
+        this.count = 0;
+        this.pendingEntry = Double.NaN;
+    }
+
+    @Override
+    public Action eventOccurred(SpacecraftState s, EclipseDetector detector, boolean increasing) {
+        double offset = s.getDate().durationFrom(referenceDate);
+        if (!increasing) { // Entrée dans l'éclipse
+            pendingEntry = offset;
+        } else if (!Double.isNaN(pendingEntry)) { // Sortie de l'éclipse
+            add(pendingEntry, offset);
+            pendingEntry = Double.NaN;
+        }
+        // Continuer la propagation
+        return Action.CONTINUE;
+    }
+
+    @Override
+    public SpacecraftState resetState(EclipseDetector detector, SpacecraftState oldState) {
+        return oldState;
+    }
+
+    /**
+     * Enregistre une éclipse complète.
+     *
+     * @param entryOffset Entrée en éclipse, en secondes depuis la référence
+     * @param exitOffset Sortie d'éclipse, en secondes depuis la référence
+     */
+    public void add(double entryOffset, double exitOffset) {
+        if (count == entries.length) {
+            entries = Arrays.copyOf(entries, count * 2);
+            exits = Arrays.copyOf(exits, count * 2);
+        }
+        entries[count] = entryOffset;
+        exits[count] = exitOffset;
+        count++;
+    }
+
+    /**
+     * @return Le nombre d'éclipses complètes enregistrées
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return La durée cumulée des éclipses enregistrées, en secondes
+     */
+    public double totalSeconds() {
+        double total = 0.0;
+        for (int i = 0; i < count; i++) {
+            total += exits[i] - entries[i];
+        }
+        return total;
+    }
+
+    /**
+     * Construit les périodes d'éclipse enregistrées.
+     *
+     * @return Liste des périodes d'éclipse, dans l'ordre chronologique
+     */
+    public List<EclipsePeriod> toEclipsePeriods() {
+        List<EclipsePeriod> periods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            periods.add(new EclipsePeriod(
+                    toInstant(entries[i]),
+                    toInstant(exits[i]),
+                    (exits[i] - entries[i]) / 60.0,
+                    "umbra"));
+        }
+        return periods;
+    }
+
+    private Instant toInstant(double offset) {
+        DateTimeComponents components = referenceDate.shiftedBy(offset).getComponents(utc);
+        TimeComponents time = components.getTime();
+        double second = time.getSecond();
+        long wholeSeconds = (long) Math.floor(second);
+        long nanos = Math.round((second - wholeSeconds) * 1.0e9);
+        // Un instant situé dans une seconde intercalaire (23:59:60) n'a pas
+        // d'équivalent java.time : il est reporté au début de la seconde suivante
+        long epochSecond = (components.getDate().getMJD() - MJD_EPOCH_DAY) * 86400L
+                + time.getHour() * 3600L + time.getMinute() * 60L + wholeSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+}
@@ -0,0 +1,104 @@
+package com.satellite.eclipse.service.archive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.satellite.eclipse.model.EclipsePeriod;
+
+/**
+ * Service d'archivage de l'historique des éclipses, un fichier par satellite.
+ *
+ * Les instants sont conservés à la microseconde. Voir {@link EclipseTimelineFile}
+ * pour le format sur disque.
+ */
+@Service
+public class EclipseArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(EclipseArchiveService.class);
+    private static final Pattern NORAD_ID = Pattern.compile("[A-Za-z0-9]{1,9}");
+
+    private final Path archiveDirectory;
+    private final Map<String, EclipseTimelineFile> timelines = new ConcurrentHashMap<>();
+
+    public EclipseArchiveService(@Value("${eclipse.archive.path:eclipse-archive}") String archivePath) {
+        this.archiveDirectory = Paths.get(archivePath).toAbsolutePath();
+    }
+
+    /**
+     * Ajoute des périodes d'éclipse à l'historique d'un satellite.
+     *
+     * @param noradId Identifiant NORAD du satellite
+     * @param periods Périodes à archiver, postérieures à la fin de l'historique existant
+     */
+    public void append(String noradId, List<EclipsePeriod> periods) {
+        int count = periods.size();
+        long[] entries = new long[count];
+        long[] exits = new long[count];
+        for (int i = 0; i < count; i++) {
+            entries[i] = toMicros(periods.get(i).getEntryTime());
+            exits[i] = toMicros(periods.get(i).getExitTime());
+        }
+
+        try {
+            Files.createDirectories(archiveDirectory);
+            timeline(noradId).append(entries, exits, count);
+            logger.info("{} périodes d'éclipse archivées pour le satellite {}", count, noradId);
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'archivage des éclipses du satellite {}", noradId, e);
+            throw new RuntimeException("Erreur lors de l'archivage des éclipses", e);
+        }
+    }
+
+    /**
+     * Lit les périodes d'éclipse archivées qui recouvrent un intervalle.
+     *
+     * @param noradId Identifiant NORAD du satellite
+     * @param from Début de l'intervalle
+     * @param to Fin de l'intervalle
+     * @return Périodes d'éclipse, dans l'ordre chronologique
+     */
+    public List<EclipsePeriod> query(String noradId, Instant from, Instant to) {
+        List<EclipsePeriod> periods = new ArrayList<>();
+        try {
+            timeline(noradId).query(toMicros(from), toMicros(to), (entry, exit) ->
+                    periods.add(new EclipsePeriod(
+                            toInstant(entry),
+                            toInstant(exit),
+                            (exit - entry) / 60.0e6,
+                            "umbra")));
+            return periods;
+        } catch (IOException e) {
+            logger.error("Erreur lors de la lecture de l'archive du satellite {}", noradId, e);
+            throw new RuntimeException("Erreur lors de la lecture de l'archive", e);
+        }
+    }
+
+    private EclipseTimelineFile timeline(String noradId) {
+        if (!NORAD_ID.matcher(noradId).matches()) {
+            throw new IllegalArgumentException("Identifiant NORAD invalide: " + noradId);
+        }
+        return timelines.computeIfAbsent(noradId, id -> new EclipseTimelineFile(
+                archiveDirectory.resolve(id + ".ecl"),
+                archiveDirectory.resolve(id + ".idx")));
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static Instant toInstant(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+}
@@ -0,0 +1,322 @@
+package com.satellite.eclipse.service.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Historique des éclipses d'un satellite, stocké sur disque en ajout seul.
+ *
+ * Deux fichiers composent l'archive :
+ * <ul>
+ *   <li>les données ({@code .ecl}) : une suite de blocs d'au plus
+ *   {@value #MAX_BLOCK_ENTRIES} éclipses. Chaque bloc commence par un en-tête
+ *   (instant de base, nombre d'entrées, taille) suivi, pour chaque éclipse, de
+ *   l'écart depuis la sortie précédente puis de la durée, en microsecondes,
+ *   codés en entiers de longueur variable (varint) ;</li>
+ *   <li>l'index clairsemé ({@code .idx}) : un enregistrement de taille fixe par
+ *   bloc (première entrée, dernière sortie, position du bloc).</li>
+ * </ul>
+ *
+ * Les lectures passent par des projections mémoire en lecture seule : une
+ * recherche par intervalle fait une recherche dichotomique dans l'index puis
+ * ne décode que les blocs concernés, sans copier le fichier dans le tas.
+ * Un ajout écrit tous ses blocs et les force sur disque avant d'écrire, en une
+ * seule fois, les enregistrements d'index correspondants, forcés à leur tour :
+ * un bloc absent du disque suite à un arrêt brutal n'est donc jamais référencé.
+ * Un enregistrement d'index tronqué est ignoré à la lecture et supprimé au
+ * premier ajout. Si un arrêt n'a laissé qu'une partie des enregistrements
+ * d'un ajout, rejouer cet ajout ne réécrit que les éclipses manquantes.
+ *
+ * Les lectures partagent un verrou en lecture ; les ajouts, qui peuvent
+ * tronquer l'index, prennent le verrou en écriture afin de ne jamais réduire
+ * un fichier en cours de lecture par projection mémoire.
+ */
+public class EclipseTimelineFile {
+
+    /**
+     * Réception des éclipses lues, sans création d'objet par éclipse.
+     */
+    @FunctionalInterface
+    public interface EclipseVisitor {
+        void eclipse(long entryMicros, long exitMicros);
+    }
+
+    static final int MAX_BLOCK_ENTRIES = 256;
+
+    private static final int DATA_MAGIC = 0x45434c44;   // "ECLD"
+    private static final int INDEX_MAGIC = 0x45434c49;  // "ECLI"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int BLOCK_HEADER_SIZE = 16;
+    private static final int INDEX_RECORD_SIZE = 24;
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean indexRepaired;
+
+    public EclipseTimelineFile(Path dataFile, Path indexFile) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Ajoute des éclipses à la fin de l'historique.
+     *
+     * @param entryMicros Instants d'entrée, en microsecondes depuis l'époque Unix
+     * @param exitMicros Instants de sortie, en microsecondes depuis l'époque Unix
+     * @param count Nombre d'éclipses à ajouter
+     * @throws IllegalArgumentException si les éclipses ne sont pas chronologiques
+     *         ou chevauchent la fin de l'historique existant sans en reprendre
+     *         exactement les dernières éclipses
+     */
+    public void append(long[] entryMicros, long[] exitMicros, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            appendLocked(entryMicros, exitMicros, count);
+        } catch (IOException e) {
+            // L'écriture a pu laisser un enregistrement partiel : réparer au prochain ajout
+            indexRepaired = false;
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void appendLocked(long[] entryMicros, long[] exitMicros, int count) throws IOException {
+        if (!indexRepaired) {
+            repairIndex();
+            indexRepaired = true;
+        }
+        long previousExit = lastExitMicros();
+        // Ajout rejoué après un échec partiel : les éclipses déjà archivées sont sautées
+        int start = entryMicros[0] < previousExit ? archivedPrefix(entryMicros, exitMicros, count) : 0;
+        if (start == count) {
+            return;
+        }
+        for (int i = start; i < count; i++) {
+            if (entryMicros[i] < previousExit || exitMicros[i] < entryMicros[i]) {
+                throw new IllegalArgumentException("Éclipse non chronologique à l'indice " + i);
+            }
+            previousExit = exitMicros[i];
+        }
+
+        try (FileChannel data = openForAppend(dataFile, DATA_MAGIC);
+                FileChannel index = openForAppend(indexFile, INDEX_MAGIC)) {
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_SIZE + MAX_BLOCK_ENTRIES * 2 * 10);
+            int blocks = (count - start + MAX_BLOCK_ENTRIES - 1) / MAX_BLOCK_ENTRIES;
+            ByteBuffer records = ByteBuffer.allocate(blocks * INDEX_RECORD_SIZE);
+            for (int from = start; from < count; from += MAX_BLOCK_ENTRIES) {
+                int to = Math.min(from + MAX_BLOCK_ENTRIES, count);
+                long base = entryMicros[from];
+
+                block.clear();
+                block.position(BLOCK_HEADER_SIZE);
+                long previous = base;
+                for (int i = from; i < to; i++) {
+                    putVarLong(block, entryMicros[i] - previous);
+                    putVarLong(block, exitMicros[i] - entryMicros[i]);
+                    previous = exitMicros[i];
+                }
+                int payloadLength = block.position() - BLOCK_HEADER_SIZE;
+                block.putLong(0, base).putInt(8, to - from).putInt(12, payloadLength);
+                block.flip();
+
+                long offset = data.size();
+                while (block.hasRemaining()) {
+                    data.write(block);
+                }
+                records.putLong(base).putLong(exitMicros[to - 1]).putLong(offset);
+            }
+
+            // Les blocs doivent être sur disque avant que l'index ne les référence
+            data.force(false);
+            records.flip();
+            while (records.hasRemaining()) {
+                index.write(records);
+            }
+            index.force(false);
+        }
+    }
+
+    /**
+     * Compte les premières éclipses de l'ajout déjà présentes à la fin de l'historique.
+     *
+     * @return Nombre d'éclipses à sauter
+     * @throws IllegalArgumentException si l'ajout chevauche l'historique sans le reprendre à l'identique
+     */
+    private int archivedPrefix(long[] entryMicros, long[] exitMicros, int count) throws IOException {
+        int[] matched = new int[1];
+        boolean[] mismatch = new boolean[1];
+        queryLocked(entryMicros[0], Long.MAX_VALUE, (entry, exit) -> {
+            int i = matched[0];
+            if (mismatch[0] || i >= count || entryMicros[i] != entry || exitMicros[i] != exit) {
+                mismatch[0] = true;
+            } else {
+                matched[0]++;
+            }
+        });
+        if (mismatch[0] || matched[0] == 0) {
+            throw new IllegalArgumentException("Éclipse non chronologique à l'indice 0");
+        }
+        return matched[0];
+    }
+
+    /**
+     * Parcourt les éclipses qui recouvrent l'intervalle [from, to).
+     *
+     * @param fromMicros Début de l'intervalle, en microsecondes depuis l'époque Unix
+     * @param toMicros Fin de l'intervalle, en microsecondes depuis l'époque Unix
+     * @param visitor Récepteur des éclipses, dans l'ordre chronologique
+     */
+    public void query(long fromMicros, long toMicros, EclipseVisitor visitor) throws IOException {
+        lock.readLock().lock();
+        try {
+            queryLocked(fromMicros, toMicros, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void queryLocked(long fromMicros, long toMicros, EclipseVisitor visitor) throws IOException {
+        if (!Files.exists(indexFile) || !Files.exists(dataFile)) {
+            return;
+        }
+        MappedByteBuffer index = map(indexFile);
+        MappedByteBuffer data = map(dataFile);
+        int blocks = (index.capacity() - FILE_HEADER_SIZE) / INDEX_RECORD_SIZE;
+
+        // Premier bloc dont la dernière sortie dépasse le début de l'intervalle
+        int low = 0;
+        int high = blocks;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index.getLong(recordPosition(mid) + 8) <= fromMicros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int b = low; b < blocks; b++) {
+            int record = recordPosition(b);
+            if (index.getLong(record) >= toMicros) {
+                break;
+            }
+            int position = (int) index.getLong(record + 16);
+            long previous = data.getLong(position);
+            int entries = data.getInt(position + 8);
+            data.position(position + BLOCK_HEADER_SIZE);
+            for (int i = 0; i < entries; i++) {
+                long entry = previous + getVarLong(data);
+                long exit = entry + getVarLong(data);
+                previous = exit;
+                if (entry >= toMicros) {
+                    return;
+                }
+                if (exit > fromMicros) {
+                    visitor.eclipse(entry, exit);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return La dernière sortie d'éclipse archivée, ou {@link Long#MIN_VALUE} si l'historique est vide
+     */
+    public long lastExitMicros() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (!Files.exists(indexFile)) {
+                return Long.MIN_VALUE;
+            }
+            try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                // Dernier enregistrement complet : un enregistrement tronqué est ignoré
+                long blocks = (index.size() - FILE_HEADER_SIZE) / INDEX_RECORD_SIZE;
+                if (blocks <= 0) {
+                    return Long.MIN_VALUE;
+                }
+                ByteBuffer lastExit = ByteBuffer.allocate(8);
+                index.read(lastExit, recordPosition(blocks - 1) + 8);
+                return lastExit.getLong(0);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Supprime un enregistrement d'index tronqué par un arrêt brutal.
+     * Appelé une seule fois, sous le verrou en écriture.
+     */
+    private void repairIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            long size = index.size();
+            if (size > FILE_HEADER_SIZE && (size - FILE_HEADER_SIZE) % INDEX_RECORD_SIZE != 0) {
+                index.truncate(size - (size - FILE_HEADER_SIZE) % INDEX_RECORD_SIZE);
+            }
+        }
+    }
+
+    private static int recordPosition(long block) {
+        return (int) (FILE_HEADER_SIZE + block * INDEX_RECORD_SIZE);
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static FileChannel openForAppend(Path file, int magic) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(magic).putInt(VERSION).flip();
+            channel.write(header);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(0) != magic || header.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("Format d'archive inconnu: " + file);
+            }
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,80 @@
+package com.satellite.eclipse.service.coordinator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Anneau de hachage cohérent répartissant des clés (identifiants NORAD) entre workers.
+ *
+ * Chaque worker occupe plusieurs positions virtuelles sur l'anneau afin d'équilibrer
+ * la charge. Lorsqu'un worker est exclu, seules les clés qui lui étaient attribuées
+ * sont déplacées vers le worker suivant sur l'anneau.
+ */
+public class ConsistentHashRing {
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> workers) {
+        this(workers, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(Collection<String> workers, int virtualNodes) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un worker est requis");
+        }
+        for (String worker : workers) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(worker + "#" + i), worker);
+            }
+        }
+    }
+
+    /**
+     * Retourne le worker responsable d'une clé.
+     *
+     * @param key La clé à placer (identifiant NORAD)
+     * @param excluded Workers à ignorer (en panne ou déjà essayés)
+     * @return Le worker responsable, ou null si tous les workers sont exclus
+     */
+    public String workerFor(String key, Set<String> excluded) {
+        long h = hash(key);
+        for (Map.Entry<Long, String> entry : ring.tailMap(h, true).entrySet()) {
+            if (!excluded.contains(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        for (Map.Entry<Long, String> entry : ring.headMap(h, false).entrySet()) {
+            if (!excluded.contains(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Les workers présents sur l'anneau
+     */
+    public List<String> workers() {
+        return ring.values().stream().distinct().toList();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.satellite.eclipse.service.coordinator;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
+import com.satellite.eclipse.model.TleData;
+import com.satellite.eclipse.service.EclipseCalculatorService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coordinateur répartissant le criblage d'une flotte entre plusieurs instances
+ * de l'application (workers).
+ *
+ * Les satellites sont attribués aux workers par hachage cohérent de leur
+ * identifiant NORAD, découpés en lots puis envoyés en parallèle sur
+ * l'endpoint {@code /api/eclipse/screen} de chaque worker. Les lots des
+ * différents workers sont entrelacés afin que tous travaillent en même temps.
+ * La fenêtre de calcul est vérifiée avant tout envoi.
+ *
+ * Les TLE invalides sont signalés satellite par satellite par le worker ; un
+ * échec de lot concerne donc le worker ou la requête, jamais un satellite :
+ * <ul>
+ * <li>connexion impossible : le worker est exclu pour le reste du calcul et ses
+ * lots sont réattribués au worker suivant sur l'anneau, sans consommer de tentative ;</li>
+ * <li>délai de lecture dépassé, erreur 5xx ou réponse incomplète : le lot entier
+ * est réessayé sur le worker suivant, le worker reste disponible ;</li>
+ * <li>erreur 4xx : la requête est rejetée, le lot n'est pas réessayé.</li>
+ * </ul>
+ * Les satellites d'un lot encore en échec après {@code max-attempts} tentatives,
+ * ou pour lesquels plus aucun worker n'est joignable, sont renvoyés avec le
+ * champ {@code error} ; les autres résultats sont conservés. Les résultats sont
+ * fusionnés dans l'ordre de la requête.
+ *
+ * Actif uniquement avec le profil "coordinator".
+ */
+@Service
+@Profile("coordinator")
+public class FleetCoordinatorService {
+    private static final Logger logger = LoggerFactory.getLogger(FleetCoordinatorService.class);
+    private static final String SCREEN_PATH = "/api/eclipse/screen";
+
+    private final ConsistentHashRing ring;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public FleetCoordinatorService(RestTemplateBuilder restTemplateBuilder,
+            @Value("${eclipse.coordinator.workers}") List<String> workers,
+            @Value("${eclipse.coordinator.batch-size:500}") int batchSize,
+            @Value("${eclipse.coordinator.max-attempts:3}") int maxAttempts,
+            @Value("${eclipse.coordinator.batches-per-worker:2}") int batchesPerWorker,
+            @Value("${eclipse.coordinator.timeout-seconds:600}") long timeoutSeconds) {
+        this.ring = new ConsistentHashRing(workers);
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofSeconds(5))
+                .readTimeout(Duration.ofSeconds(timeoutSeconds))
+                .build();
+        this.executor = Executors.newFixedThreadPool(workers.size() * batchesPerWorker);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        logger.info("Mode coordinateur actif avec {} workers: {}", workers.size(), workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Crible les éclipses d'une flotte en répartissant le travail entre les workers.
+     *
+     * @param request La requête contenant les TLE de la flotte et la période de calcul
+     * @return Bilan d'éclipses par satellite, dans l'ordre de la requête
+     * @throws IllegalArgumentException si la fenêtre de calcul est invalide
+     */
+    public List<SatelliteEclipseSummary> screenFleet(FleetScreeningRequest request) {
+        List<TleData> satellites = request.getSatellites();
+        logger.info("Répartition du criblage de {} satellites", satellites.size());
+        EclipseCalculatorService.validateWindow(request.getStartDate(), request.getEndDate(),
+                request.getStepInSeconds());
+
+        SatelliteEclipseSummary[] results = new SatelliteEclipseSummary[satellites.size()];
+        Set<String> deadWorkers = new HashSet<>();
+        List<Integer> orphans = new ArrayList<>();
+        List<Batch> pending = partition(satellites, allIndices(satellites.size()), deadWorkers, Set.of(), 1, orphans);
+        int failedSatellites = 0;
+
+        while (!pending.isEmpty()) {
+            List<Future<SatelliteEclipseSummary[]>> futures = new ArrayList<>(pending.size());
+            List<Batch> retries = new ArrayList<>();
+            try {
+                for (Batch batch : pending) {
+                    futures.add(executor.submit(() -> dispatch(batch, satellites, request)));
+                }
+
+                for (int b = 0; b < pending.size(); b++) {
+                    Batch batch = pending.get(b);
+                    try {
+                        SatelliteEclipseSummary[] summaries = futures.get(b).get();
+                        for (int i = 0; i < batch.indices().size(); i++) {
+                            results[batch.indices().get(i)] = summaries[i];
+                        }
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        logger.warn("Échec du lot de {} satellites sur {} (tentative {}): {}",
+                                batch.indices().size(), batch.worker(), batch.attempt(), cause.getMessage());
+
+                        if (isConnectionFailure(cause)) {
+                            // Worker injoignable : le lot est réattribué sans consommer de tentative
+                            deadWorkers.add(batch.worker());
+                            retries.addAll(partition(satellites, batch.indices(), deadWorkers,
+                                    batch.triedWorkers(), batch.attempt(), orphans));
+                        } else if (cause instanceof HttpClientErrorException || batch.attempt() >= maxAttempts) {
+                            // Requête rejetée ou tentatives épuisées : inutile de réessayer ailleurs
+                            failedSatellites += fail(results, satellites, batch.indices(), cause.getMessage());
+                        } else {
+                            // Worker lent ou en erreur : le lot entier est réessayé sur le worker suivant
+                            Set<String> tried = new HashSet<>(batch.triedWorkers());
+                            tried.add(batch.worker());
+                            retries.addAll(partition(satellites, batch.indices(), deadWorkers, tried,
+                                    batch.attempt() + 1, orphans));
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Criblage distribué interrompu", e);
+            } finally {
+                // Sans effet sur les lots terminés ; libère le pool si le calcul est abandonné
+                futures.forEach(future -> future.cancel(true));
+            }
+            if (!orphans.isEmpty()) {
+                failedSatellites += fail(results, satellites, orphans, "Aucun worker disponible pour le criblage");
+                orphans.clear();
+            }
+            pending = retries;
+        }
+
+        logger.info("Criblage distribué terminé pour {} satellites ({} en échec)", results.length, failedSatellites);
+        return List.of(results);
+    }
+
+    private SatelliteEclipseSummary[] dispatch(Batch batch, List<TleData> satellites, FleetScreeningRequest request) {
+        List<TleData> subset = new ArrayList<>(batch.indices().size());
+        for (int index : batch.indices()) {
+            subset.add(satellites.get(index));
+        }
+        FleetScreeningRequest workerRequest = new FleetScreeningRequest(
+                subset, request.getStartDate(), request.getEndDate(), request.getStepInSeconds());
+        SatelliteEclipseSummary[] summaries = restTemplate.postForObject(
+                batch.worker() + SCREEN_PATH, workerRequest, SatelliteEclipseSummary[].class);
+        if (summaries == null || summaries.length != subset.size()) {
+            throw new IllegalStateException("Réponse incomplète du worker " + batch.worker());
+        }
+        return summaries;
+    }
+
+    /**
+     * Attribue des satellites aux workers disponibles et les découpe en lots.
+     * Les satellites sans worker joignable sont ajoutés à {@code orphans}.
+     */
+    private List<Batch> partition(List<TleData> satellites, List<Integer> indices,
+            Set<String> deadWorkers, Set<String> triedWorkers, int attempt, List<Integer> orphans) {
+        Set<String> excluded = new HashSet<>(deadWorkers);
+        excluded.addAll(triedWorkers);
+        if (excluded.containsAll(ring.workers())) {
+            // Tous les workers ont déjà échoué pour ce lot : on ne réessaie que les vivants
+            excluded = deadWorkers;
+        }
+
+        Map<String, List<Integer>> byWorker = new LinkedHashMap<>();
+        for (int index : indices) {
+            String worker = ring.workerFor(noradId(satellites.get(index)), excluded);
+            if (worker == null) {
+                orphans.add(index);
+                continue;
+            }
+            byWorker.computeIfAbsent(worker, w -> new ArrayList<>()).add(index);
+        }
+
+        // Lots entrelacés entre workers : la file du pool alterne les workers
+        // au lieu d'enchaîner tous les lots du premier
+        List<List<Batch>> batchesByWorker = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, List<Integer>> entry : byWorker.entrySet()) {
+            List<Integer> assigned = entry.getValue();
+            List<Batch> workerBatches = new ArrayList<>();
+            for (int from = 0; from < assigned.size(); from += batchSize) {
+                List<Integer> slice = assigned.subList(from, Math.min(from + batchSize, assigned.size()));
+                workerBatches.add(new Batch(entry.getKey(), new ArrayList<>(slice), triedWorkers, attempt));
+            }
+            batchesByWorker.add(workerBatches);
+            total += workerBatches.size();
+        }
+        List<Batch> batches = new ArrayList<>(total);
+        for (int round = 0; batches.size() < total; round++) {
+            for (List<Batch> workerBatches : batchesByWorker) {
+                if (round < workerBatches.size()) {
+                    batches.add(workerBatches.get(round));
+                }
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Indique si l'échec vient d'un worker injoignable (connexion refusée, hôte
+     * inconnu, délai de connexion) et non d'un worker lent : un délai de lecture
+     * dépassé ne doit pas exclure un worker sain mais chargé.
+     */
+    static boolean isConnectionFailure(Throwable failure) {
+        if (!(failure instanceof ResourceAccessException)) {
+            return false;
+        }
+        for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renseigne un bilan en échec pour chacun des satellites.
+     *
+     * @return Nombre de satellites concernés
+     */
+    private static int fail(SatelliteEclipseSummary[] results, List<TleData> satellites,
+            List<Integer> indices, String error) {
+        for (int index : indices) {
+            results[index] = new SatelliteEclipseSummary(satellites.get(index).getSatelliteName(), 0, 0.0, error);
+        }
+        return indices.size();
+    }
+
+    /**
+     * Extrait l'identifiant NORAD (colonnes 3 à 7 de la première ligne TLE).
+     */
+    static String noradId(TleData tleData) {
+        String line1 = tleData.getLine1();
+        if (line1 == null || line1.length() < 7) {
+            // TLE invalide : placé sur l'anneau par sa ligne brute, le worker le signalera
+            return String.valueOf(line1);
+        }
+        return line1.substring(2, 7).trim();
+    }
+
+    private static List<Integer> allIndices(int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    private record Batch(String worker, List<Integer> indices, Set<String> triedWorkers, int attempt) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.satellite.eclipse.service.screening;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/**
+ * Criblage d'éclipses d'une flotte sur une grille de temps commune.
+ *
+ * À chaque pas, la position du Soleil est calculée une seule fois dans le
+ * repère TEME puis le test d'ombre (cône d'ombre de la Terre sphérique, même
+ * géométrie que l'{@link org.orekit.propagation.events.EclipseDetector} utilisé
+ * par le calcul précis) est appliqué à tous les satellites par une boucle
+ * arithmétique sur tableaux primitifs, sans allocation.
+ *
+ * Les instants d'entrée et de sortie sont estimés par interpolation linéaire
+ * de la marge d'ombre entre deux pas ; la précision est donc une fraction du
+ * pas de la grille.
+ *
+ * Les éclipses tronquées par les bords de la grille (en cours au premier ou
+ * au dernier pas) sont signalées avec {@code complete = false}, bornées à 0 et
+ * à la durée de la grille. Le calcul précis les ignore : les appelants qui
+ * produisent des {@code EclipsePeriod} doivent faire de même.
+ *
+ * Un satellite dont la propagation échoue à un pas (retombée, orbite
+ * dégénérée) est marqué invalide pour le reste de la grille : il ne produit
+ * plus d'éclipse et sa durée totale vaut NaN.
+ */
+public final class FleetScreener {
+
+    /**
+     * Réception des éclipses détectées pendant le criblage.
+     */
+    @FunctionalInterface
+    public interface EclipseListener {
+        /**
+         * @param satelliteIndex Indice du satellite dans le moteur
+         * @param entryOffset Entrée en éclipse, en secondes depuis le début de la grille
+         * @param exitOffset Sortie d'éclipse, en secondes depuis le début de la grille
+         * @param complete false si l'éclipse est tronquée par un bord de la grille
+         */
+        void eclipse(int satelliteIndex, double entryOffset, double exitOffset, boolean complete);
+    }
+
+    private static final double EARTH_RADIUS = Constants.WGS84_EARTH_EQUATORIAL_RADIUS;
+
+    private final Sgp4BatchPropagator propagator;
+    private final PVCoordinatesProvider sun;
+    private final Frame teme;
+
+    /**
+     * @param propagator Moteur SGP4 dont la date de référence est le début de la grille
+     * @param sun Le Soleil
+     * @param teme Repère TEME, dans lequel le moteur exprime les positions
+     */
+    public FleetScreener(Sgp4BatchPropagator propagator, PVCoordinatesProvider sun, Frame teme) {
+        this.propagator = propagator;
+        this.sun = sun;
+        this.teme = teme;
+    }
+
+    /**
+     * Parcourt la grille de temps et signale chaque éclipse, y compris celles
+     * tronquées par les bords de la grille (voir {@link EclipseListener}).
+     *
+     * @param start Début de la grille (doit être la date de référence du moteur)
+     * @param duration Durée de la grille en secondes
+     * @param step Pas de la grille en secondes
+     * @param listener Récepteur des éclipses détectées
+     * @return Durée totale d'éclipse par satellite, en secondes, éclipses tronquées comprises ;
+     *         NaN pour un satellite dont la propagation a échoué
+     * @throws IllegalArgumentException si le pas ou la durée n'est pas strictement positif
+     */
+    public double[] screen(AbsoluteDate start, double duration, double step, EclipseListener listener) {
+        if (!(step > 0.0) || !(duration > 0.0)) {
+            throw new IllegalArgumentException("Le pas et la durée de la grille doivent être strictement positifs");
+        }
+        int n = propagator.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        double[] margin = new double[n];
+        double[] previousMargin = new double[n];
+        double[] entry = new double[n];
+        boolean[] inShadow = new boolean[n];
+        boolean[] truncated = new boolean[n];
+        boolean[] invalid = new boolean[n];
+        double[] totals = new double[n];
+
+        int steps = (int) Math.ceil(duration / step);
+        double previousOffset = 0.0;
+        for (int k = 0; k <= steps; k++) {
+            double offset = Math.min(k * step, duration);
+            AbsoluteDate date = start.shiftedBy(offset);
+            propagator.propagate(date, offset, x, y, z);
+            Vector3D sunPosition = sun.getPVCoordinates(date, teme).getPosition();
+            umbraMargin(x, y, z, n, sunPosition, margin);
+
+            for (int j = 0; j < n; j++) {
+                if (invalid[j]) {
+                    continue;
+                }
+                if (Double.isNaN(margin[j])) {
+                    invalid[j] = true;
+                    continue;
+                }
+                boolean shadow = margin[j] < 0.0;
+                if (k == 0) {
+                    inShadow[j] = shadow;
+                    truncated[j] = shadow;
+                    entry[j] = 0.0;
+                } else if (shadow != inShadow[j]) {
+                    double crossing = crossing(previousOffset, previousMargin[j], offset, margin[j]);
+                    if (shadow) {
+                        entry[j] = crossing;
+                        truncated[j] = false;
+                    } else {
+                        totals[j] += crossing - entry[j];
+                        listener.eclipse(j, entry[j], crossing, !truncated[j]);
+                    }
+                    inShadow[j] = shadow;
+                }
+            }
+            double[] swap = previousMargin;
+            previousMargin = margin;
+            margin = swap;
+            previousOffset = offset;
+        }
+
+        for (int j = 0; j < n; j++) {
+            if (invalid[j]) {
+                totals[j] = Double.NaN;
+            } else if (inShadow[j]) {
+                totals[j] += duration - entry[j];
+                listener.eclipse(j, entry[j], duration, false);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Marge d'ombre de chaque satellite : négative si le satellite est dans
+     * l'ombre de la Terre (umbra), positive sinon. NaN pour un satellite dont
+     * la position est invalide.
+     *
+     * @param x Positions X TEME (mètres)
+     * @param y Positions Y TEME (mètres)
+     * @param z Positions Z TEME (mètres)
+     * @param n Nombre de satellites
+     * @param sunPosition Position du Soleil dans le même repère
+     * @param margin Marges en sortie (mètres)
+     */
+    static void umbraMargin(double[] x, double[] y, double[] z, int n, Vector3D sunPosition, double[] margin) {
+        double sunDistance = sunPosition.getNorm();
+        double sx = sunPosition.getX() / sunDistance;
+        double sy = sunPosition.getY() / sunDistance;
+        double sz = sunPosition.getZ() / sunDistance;
+        // Rétrécissement du cône d'ombre par mètre parcouru derrière la Terre
+        double slope = (Constants.SUN_RADIUS - EARTH_RADIUS) / sunDistance;
+
+        for (int j = 0; j < n; j++) {
+            double p = x[j] * sx + y[j] * sy + z[j] * sz;
+            double px = x[j] - p * sx;
+            double py = y[j] - p * sy;
+            double pz = z[j] - p * sz;
+            double perpendicular = Math.sqrt(px * px + py * py + pz * pz);
+            double umbraRadius = EARTH_RADIUS + p * slope;
+            // Côté jour (p >= 0) : jamais d'ombre, la marge vaut perpendicular + p - R >= 0
+            margin[j] = perpendicular - umbraRadius + Math.max(p, 0.0) * (1.0 + slope);
+        }
+    }
+
+    private static double crossing(double t0, double m0, double t1, double m1) {
+        if (Double.isNaN(m0) || Double.isNaN(m1) || m0 == m1) {
+            return 0.5 * (t0 + t1);
+        }
+        return t0 + (t1 - t0) * m0 / (m0 - m1);
+    }
+}
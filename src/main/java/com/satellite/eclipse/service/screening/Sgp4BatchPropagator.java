@@ -0,0 +1,492 @@
+package com.satellite.eclipse.service.screening;
+
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagateur SGP4 "structure de tableaux" pour le criblage de flottes.
+ *
+ * Tous les coefficients d'initialisation SGP4 sont stockés dans des tableaux
+ * de doubles indexés par satellite, ce qui permet de propager des milliers de TLE
+ * sur une grille de temps commune avec des boucles primitives sans allocation.
+ * Seule la branche proche-Terre (période &lt; 225 min) est traitée ici ; les
+ * satellites "deep space" (SDP4) sont délégués au {@link TLEPropagator} d'Orekit.
+ *
+ * Les positions sont exprimées dans le repère TEME, en mètres, comme celles
+ * renvoyées par {@link TLEPropagator}. Écart attendu avec Orekit : inférieur à
+ * {@link #VALIDATION_TOLERANCE_METERS} sur quelques jours autour de l'époque TLE.
+ *
+ * Si le module incubé {@code jdk.incubator.vector} est chargé
+ * ({@code --add-modules jdk.incubator.vector}), la branche proche-Terre est
+ * calculée par {@link Sgp4VectorKernel} sur plusieurs satellites à la fois ;
+ * sinon, ou avec {@code -Declipse.screening.vector=false}, par la boucle
+ * scalaire de cette classe.
+ */
+public final class Sgp4BatchPropagator {
+    private static final Logger logger = LoggerFactory.getLogger(Sgp4BatchPropagator.class);
+
+    /** Tolérance documentée en position par rapport à {@link TLEPropagator} (mètres). */
+    public static final double VALIDATION_TOLERANCE_METERS = 1000.0;
+
+    // Constantes WGS72, identiques à celles utilisées par le SGP4 d'Orekit
+    static final double EARTH_RADIUS_KM = 6378.135;
+    static final double XKE = 0.0743669161331734132;
+    static final double J2 = 1.082616e-3;
+    private static final double J3 = -0.253881e-5;
+    private static final double J4 = -1.65597e-6;
+    private static final double J3OJ2 = J3 / J2;
+    static final double X2O3 = 2.0 / 3.0;
+    private static final double DEEP_SPACE_PERIOD_MINUTES = 225.0;
+    private static final boolean VECTOR_API_AVAILABLE = vectorApiAvailable();
+
+    private final int size;
+    private final boolean vectorized;
+    private final boolean[] deepSpace;
+    private final TLEPropagator[] fallback;
+    // Les tableaux suivants sont lus par Sgp4VectorKernel (accès paquet)
+    final double[] epochOffset;   // Époque TLE relative à la référence (secondes)
+
+    // Éléments moyens
+    final double[] no;
+    final double[] ecco;
+    final double[] inclo;
+    final double[] nodeo;
+    final double[] argpo;
+    final double[] mo;
+    final double[] bstar;
+
+    // Coefficients dérivés de l'initialisation SGP4
+    final double[] ao;
+    final double[] eta;
+    final double[] sinio;
+    final double[] cosio;
+    final double[] con41;
+    final double[] x1mth2;
+    final double[] x7thm1;
+    final double[] cc1;
+    final double[] cc4;
+    final double[] cc5;
+    final double[] d2;
+    final double[] d3;
+    final double[] d4;
+    final double[] t2cof;
+    final double[] t3cof;
+    final double[] t4cof;
+    final double[] t5cof;
+    final double[] mdot;
+    final double[] argpdot;
+    final double[] nodedot;
+    final double[] nodecf;
+    final double[] omgcof;
+    final double[] xmcof;
+    final double[] xlcof;
+    final double[] aycof;
+    final double[] delmo;
+    final double[] sinmao;
+    final boolean[] isimp;
+
+    /**
+     * Initialise le moteur pour un ensemble de TLE.
+     *
+     * @param tles Les TLE à propager
+     * @param reference Date de référence des décalages temporels passés à {@link #propagate}
+     */
+    public Sgp4BatchPropagator(List<TLE> tles, AbsoluteDate reference) {
+        this(tles, reference, VECTOR_API_AVAILABLE);
+    }
+
+    /**
+     * @param tles Les TLE à propager
+     * @param reference Date de référence des décalages temporels passés à {@link #propagate}
+     * @param vectorized true pour utiliser le noyau vectoriel ; ignoré si l'API Vector est absente
+     */
+    Sgp4BatchPropagator(List<TLE> tles, AbsoluteDate reference, boolean vectorized) {
+        this.size = tles.size();
+        this.vectorized = vectorized && VECTOR_API_AVAILABLE;
+        this.deepSpace = new boolean[size];
+        this.fallback = new TLEPropagator[size];
+        this.epochOffset = new double[size];
+        this.no = new double[size];
+        this.ecco = new double[size];
+        this.inclo = new double[size];
+        this.nodeo = new double[size];
+        this.argpo = new double[size];
+        this.mo = new double[size];
+        this.bstar = new double[size];
+        this.ao = new double[size];
+        this.eta = new double[size];
+        this.sinio = new double[size];
+        this.cosio = new double[size];
+        this.con41 = new double[size];
+        this.x1mth2 = new double[size];
+        this.x7thm1 = new double[size];
+        this.cc1 = new double[size];
+        this.cc4 = new double[size];
+        this.cc5 = new double[size];
+        this.d2 = new double[size];
+        this.d3 = new double[size];
+        this.d4 = new double[size];
+        this.t2cof = new double[size];
+        this.t3cof = new double[size];
+        this.t4cof = new double[size];
+        this.t5cof = new double[size];
+        this.mdot = new double[size];
+        this.argpdot = new double[size];
+        this.nodedot = new double[size];
+        this.nodecf = new double[size];
+        this.omgcof = new double[size];
+        this.xmcof = new double[size];
+        this.xlcof = new double[size];
+        this.aycof = new double[size];
+        this.delmo = new double[size];
+        this.sinmao = new double[size];
+        this.isimp = new boolean[size];
+
+        for (int j = 0; j < size; j++) {
+            TLE tle = tles.get(j);
+            epochOffset[j] = tle.getDate().durationFrom(reference);
+            // Même critère que TLEPropagator.selectExtrapolator : période issue du moyen mouvement de Brouwer
+            if (2.0 * FastMath.PI / brouwerMeanMotion(tle) >= DEEP_SPACE_PERIOD_MINUTES) {
+                deepSpace[j] = true;
+                fallback[j] = TLEPropagator.selectExtrapolator(tle);
+            } else {
+                initialize(j, tle);
+            }
+        }
+        logger.debug("Moteur SGP4 initialisé pour {} satellites (vectoriel: {})", size, this.vectorized);
+    }
+
+    /**
+     * @return true si l'API Vector est disponible et peut être utilisée par le moteur
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    /**
+     * @return true si ce moteur calcule la branche proche-Terre avec le noyau vectoriel
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * @return Le nombre de satellites gérés par le moteur
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indique si un satellite est propagé par le repli scalaire Orekit (SDP4).
+     *
+     * @param index Indice du satellite
+     * @return true si le satellite est "deep space"
+     */
+    public boolean isDeepSpace(int index) {
+        return deepSpace[index];
+    }
+
+    /**
+     * Calcule les positions TEME de tous les satellites à une date commune.
+     * Les satellites dont la propagation échoue (décroissance, excentricité
+     * invalide) reçoivent des coordonnées NaN.
+     *
+     * @param date Date de propagation
+     * @param offset Décalage de la date par rapport à la référence (secondes)
+     * @param x Positions X en sortie (mètres)
+     * @param y Positions Y en sortie (mètres)
+     * @param z Positions Z en sortie (mètres)
+     */
+    public void propagate(AbsoluteDate date, double offset, double[] x, double[] y, double[] z) {
+        // Le noyau vectoriel traite des paquets complets de satellites, y compris les
+        // "deep space" dont les positions sont ensuite remplacées par le repli Orekit
+        int vectorEnd = vectorized ? Sgp4VectorKernel.propagate(this, offset, x, y, z) : 0;
+        for (int j = 0; j < size; j++) {
+            if (deepSpace[j]) {
+                propagateFallback(j, date, x, y, z);
+            } else if (j >= vectorEnd) {
+                propagateNearEarth(j, (offset - epochOffset[j]) / 60.0, x, y, z);
+            }
+        }
+    }
+
+    private void propagateFallback(int j, AbsoluteDate date, double[] x, double[] y, double[] z) {
+        try {
+            Vector3D position = fallback[j].getPVCoordinates(date, fallback[j].getFrame()).getPosition();
+            x[j] = position.getX();
+            y[j] = position.getY();
+            z[j] = position.getZ();
+        } catch (RuntimeException e) {
+            x[j] = Double.NaN;
+            y[j] = Double.NaN;
+            z[j] = Double.NaN;
+        }
+    }
+
+    /**
+     * Récupère le moyen mouvement de Brouwer à partir du moyen mouvement de Kozai du TLE.
+     *
+     * @param tle Le TLE
+     * @return Moyen mouvement de Brouwer (rad/min)
+     */
+    static double brouwerMeanMotion(TLE tle) {
+        // getMeanMotion() est en rad/s, SGP4 travaille en rad/min
+        double noKozai = tle.getMeanMotion() * 60.0;
+        double cosi = FastMath.cos(tle.getI());
+        double omeosq = 1.0 - tle.getE() * tle.getE();
+        double ak = FastMath.pow(XKE / noKozai, X2O3);
+        double d1 = 0.75 * J2 * (3.0 * cosi * cosi - 1.0) / (FastMath.sqrt(omeosq) * omeosq);
+        double del = d1 / (ak * ak);
+        double adel = ak * (1.0 - del * del - del * (1.0 / 3.0 + 134.0 * del * del / 81.0));
+        del = d1 / (adel * adel);
+        return noKozai / (1.0 + del);
+    }
+
+    /**
+     * Initialisation SGP4 proche-Terre (Spacetrack Report #3, révision Vallado 2006).
+     */
+    private void initialize(int j, TLE tle) {
+        double e0 = tle.getE();
+        double i0 = tle.getI();
+        ecco[j] = e0;
+        inclo[j] = i0;
+        nodeo[j] = tle.getRaan();
+        argpo[j] = tle.getPerigeeArgument();
+        mo[j] = tle.getMeanAnomaly();
+        bstar[j] = tle.getBStar();
+
+        double cosi = FastMath.cos(i0);
+        double cosio2 = cosi * cosi;
+        double eccsq = e0 * e0;
+        double omeosq = 1.0 - eccsq;
+        double rteosq = FastMath.sqrt(omeosq);
+        double n0 = brouwerMeanMotion(tle);
+        double a0 = FastMath.pow(XKE / n0, X2O3);
+        double sini = FastMath.sin(i0);
+        double po = a0 * omeosq;
+        double con42 = 1.0 - 5.0 * cosio2;
+        double c41 = -con42 - cosio2 - cosio2;
+        double posq = po * po;
+        double rp = a0 * (1.0 - e0);
+
+        no[j] = n0;
+        ao[j] = a0;
+        cosio[j] = cosi;
+        sinio[j] = sini;
+        con41[j] = c41;
+
+        // Paramètres atmosphériques selon l'altitude du périgée
+        double ss = 78.0 / EARTH_RADIUS_KM + 1.0;
+        double qzms2t = FastMath.pow((120.0 - 78.0) / EARTH_RADIUS_KM, 4);
+        isimp[j] = rp < 220.0 / EARTH_RADIUS_KM + 1.0;
+        double sfour = ss;
+        double qzms24 = qzms2t;
+        double perige = (rp - 1.0) * EARTH_RADIUS_KM;
+        if (perige < 156.0) {
+            sfour = perige < 98.0 ? 20.0 : perige - 78.0;
+            qzms24 = FastMath.pow((120.0 - sfour) / EARTH_RADIUS_KM, 4);
+            sfour = sfour / EARTH_RADIUS_KM + 1.0;
+        }
+        double pinvsq = 1.0 / posq;
+        double tsi = 1.0 / (a0 - sfour);
+        double et = a0 * e0 * tsi;
+        double etasq = et * et;
+        double eeta = e0 * et;
+        double psisq = FastMath.abs(1.0 - etasq);
+        double coef = qzms24 * FastMath.pow(tsi, 4);
+        double coef1 = coef / FastMath.pow(psisq, 3.5);
+        double cc2 = coef1 * n0 * (a0 * (1.0 + 1.5 * etasq + eeta * (4.0 + etasq))
+                + 0.375 * J2 * tsi / psisq * c41 * (8.0 + 3.0 * etasq * (8.0 + etasq)));
+        double c1 = bstar[j] * cc2;
+        double cc3 = e0 > 1.0e-4 ? -2.0 * coef * tsi * J3OJ2 * n0 * sini / e0 : 0.0;
+        double x1m = 1.0 - cosio2;
+        eta[j] = et;
+        x1mth2[j] = x1m;
+        cc1[j] = c1;
+        cc4[j] = 2.0 * n0 * coef1 * a0 * omeosq * (et * (2.0 + 0.5 * etasq) + e0 * (0.5 + 2.0 * etasq)
+                - J2 * tsi / (a0 * psisq) * (-3.0 * c41 * (1.0 - 2.0 * eeta + etasq * (1.5 - 0.5 * eeta))
+                        + 0.75 * x1m * (2.0 * etasq - eeta * (1.0 + etasq)) * FastMath.cos(2.0 * argpo[j])));
+        cc5[j] = 2.0 * coef1 * a0 * omeosq * (1.0 + 2.75 * (etasq + eeta) + eeta * etasq);
+
+        // Taux séculaires
+        double cosio4 = cosio2 * cosio2;
+        double temp1 = 1.5 * J2 * pinvsq * n0;
+        double temp2 = 0.5 * temp1 * J2 * pinvsq;
+        double temp3 = -0.46875 * J4 * pinvsq * pinvsq * n0;
+        mdot[j] = n0 + 0.5 * temp1 * rteosq * c41 + 0.0625 * temp2 * rteosq * (13.0 - 78.0 * cosio2 + 137.0 * cosio4);
+        argpdot[j] = -0.5 * temp1 * con42 + 0.0625 * temp2 * (7.0 - 114.0 * cosio2 + 395.0 * cosio4)
+                + temp3 * (3.0 - 36.0 * cosio2 + 49.0 * cosio4);
+        double xhdot1 = -temp1 * cosi;
+        nodedot[j] = xhdot1 + (0.5 * temp2 * (4.0 - 19.0 * cosio2) + 2.0 * temp3 * (3.0 - 7.0 * cosio2)) * cosi;
+        omgcof[j] = bstar[j] * cc3 * FastMath.cos(argpo[j]);
+        xmcof[j] = e0 > 1.0e-4 ? -X2O3 * coef * bstar[j] / eeta : 0.0;
+        nodecf[j] = 3.5 * omeosq * xhdot1 * c1;
+        t2cof[j] = 1.5 * c1;
+        double den = FastMath.abs(cosi + 1.0) > 1.5e-12 ? 1.0 + cosi : 1.5e-12;
+        xlcof[j] = -0.25 * J3OJ2 * sini * (3.0 + 5.0 * cosi) / den;
+        aycof[j] = -0.5 * J3OJ2 * sini;
+        double delmotemp = 1.0 + et * FastMath.cos(mo[j]);
+        delmo[j] = delmotemp * delmotemp * delmotemp;
+        sinmao[j] = FastMath.sin(mo[j]);
+        x7thm1[j] = 7.0 * cosio2 - 1.0;
+
+        if (!isimp[j]) {
+            double c1sq = c1 * c1;
+            d2[j] = 4.0 * a0 * tsi * c1sq;
+            double temp = d2[j] * tsi * c1 / 3.0;
+            d3[j] = (17.0 * a0 + sfour) * temp;
+            d4[j] = 0.5 * temp * a0 * tsi * (221.0 * a0 + 31.0 * sfour) * c1;
+            t3cof[j] = d2[j] + 2.0 * c1sq;
+            t4cof[j] = 0.25 * (3.0 * d3[j] + c1 * (12.0 * d2[j] + 10.0 * c1sq));
+            t5cof[j] = 0.2 * (3.0 * d4[j] + 12.0 * c1 * d3[j] + 6.0 * d2[j] * d2[j]
+                    + 15.0 * c1sq * (2.0 * d2[j] + c1sq));
+        }
+    }
+
+    /**
+     * Propagation SGP4 proche-Terre d'un satellite, position uniquement.
+     *
+     * @param tsince Temps écoulé depuis l'époque TLE (minutes)
+     */
+    private void propagateNearEarth(int j, double tsince, double[] x, double[] y, double[] z) {
+        double t = tsince;
+        double xmdf = mo[j] + mdot[j] * t;
+        double argpdf = argpo[j] + argpdot[j] * t;
+        double nodedf = nodeo[j] + nodedot[j] * t;
+        double argpm = argpdf;
+        double mm = xmdf;
+        double t2 = t * t;
+        double nodem = nodedf + nodecf[j] * t2;
+        double tempa = 1.0 - cc1[j] * t;
+        double tempe = bstar[j] * cc4[j] * t;
+        double templ = t2cof[j] * t2;
+
+        if (!isimp[j]) {
+            double delomg = omgcof[j] * t;
+            double delmtemp = 1.0 + eta[j] * FastMath.cos(xmdf);
+            double delm = xmcof[j] * (delmtemp * delmtemp * delmtemp - delmo[j]);
+            double temp = delomg + delm;
+            mm = xmdf + temp;
+            argpm = argpdf - temp;
+            double t3 = t2 * t;
+            double t4 = t3 * t;
+            tempa = tempa - d2[j] * t2 - d3[j] * t3 - d4[j] * t4;
+            tempe = tempe + bstar[j] * cc5[j] * (FastMath.sin(mm) - sinmao[j]);
+            templ = templ + t3cof[j] * t3 + t4 * (t4cof[j] + t * t5cof[j]);
+        }
+
+        double am = FastMath.pow(XKE / no[j], X2O3) * tempa * tempa;
+        double nm = XKE / FastMath.pow(am, 1.5);
+        double em = ecco[j] - tempe;
+        if (em >= 1.0 || em < -0.001 || am < 0.95) {
+            invalidate(j, x, y, z);
+            return;
+        }
+        if (em < 1.0e-6) {
+            em = 1.0e-6;
+        }
+        mm = mm + no[j] * templ;
+        double xlm = mm + argpm + nodem;
+        nodem = MathUtils.normalizeAngle(nodem, FastMath.PI);
+        argpm = MathUtils.normalizeAngle(argpm, FastMath.PI);
+        xlm = MathUtils.normalizeAngle(xlm, FastMath.PI);
+        mm = MathUtils.normalizeAngle(xlm - argpm - nodem, FastMath.PI);
+
+        // Termes périodiques longs
+        double axnl = em * FastMath.cos(argpm);
+        double temp = 1.0 / (am * (1.0 - em * em));
+        double aynl = em * FastMath.sin(argpm) + temp * aycof[j];
+        double xl = mm + argpm + nodem + temp * xlcof[j] * axnl;
+
+        // Résolution de l'équation de Kepler
+        double u = MathUtils.normalizeAngle(xl - nodem, FastMath.PI);
+        double eo1 = u;
+        double sineo1 = 0.0;
+        double coseo1 = 1.0;
+        double tem5 = 9999.9;
+        for (int ktr = 0; ktr < 10 && FastMath.abs(tem5) >= 1.0e-12; ktr++) {
+            sineo1 = FastMath.sin(eo1);
+            coseo1 = FastMath.cos(eo1);
+            tem5 = 1.0 - coseo1 * axnl - sineo1 * aynl;
+            tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / tem5;
+            if (FastMath.abs(tem5) >= 0.95) {
+                tem5 = tem5 > 0.0 ? 0.95 : -0.95;
+            }
+            eo1 += tem5;
+        }
+
+        // Termes périodiques courts
+        double ecose = axnl * coseo1 + aynl * sineo1;
+        double esine = axnl * sineo1 - aynl * coseo1;
+        double el2 = axnl * axnl + aynl * aynl;
+        double pl = am * (1.0 - el2);
+        if (pl < 0.0) {
+            invalidate(j, x, y, z);
+            return;
+        }
+        double rl = am * (1.0 - ecose);
+        double betal = FastMath.sqrt(1.0 - el2);
+        temp = esine / (1.0 + betal);
+        double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+        double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+        double su = FastMath.atan2(sinu, cosu);
+        double sin2u = (cosu + cosu) * sinu;
+        double cos2u = 1.0 - 2.0 * sinu * sinu;
+        temp = 1.0 / pl;
+        double temp1 = 0.5 * J2 * temp;
+        double temp2 = temp1 * temp;
+
+        double mrt = rl * (1.0 - 1.5 * temp2 * betal * con41[j]) + 0.5 * temp1 * x1mth2[j] * cos2u;
+        if (mrt < 1.0) {
+            // Satellite retombé sous la surface terrestre
+            invalidate(j, x, y, z);
+            return;
+        }
+        su = su - 0.25 * temp2 * x7thm1[j] * sin2u;
+        double xnode = nodem + 1.5 * temp2 * cosio[j] * sin2u;
+        double xinc = inclo[j] + 1.5 * temp2 * cosio[j] * sinio[j] * cos2u;
+
+        double sinsu = FastMath.sin(su);
+        double cossu = FastMath.cos(su);
+        double snod = FastMath.sin(xnode);
+        double cnod = FastMath.cos(xnode);
+        double sini = FastMath.sin(xinc);
+        double cosi = FastMath.cos(xinc);
+        double xmx = -snod * cosi;
+        double xmy = cnod * cosi;
+        double scale = mrt * EARTH_RADIUS_KM * 1000.0;
+        x[j] = scale * (xmx * sinsu + cnod * cossu);
+        y[j] = scale * (xmy * sinsu + snod * cossu);
+        z[j] = scale * (sini * sinsu);
+    }
+
+    private static boolean vectorApiAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("eclipse.screening.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            // Initialise le noyau : échoue si le module n'est pas lisible par ce code
+            Class.forName(Sgp4BatchPropagator.class.getPackageName() + ".Sgp4VectorKernel");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.warn("API Vector indisponible, criblage SGP4 scalaire: {}", e.toString());
+            return false;
+        }
+    }
+
+    private static void invalidate(int j, double[] x, double[] y, double[] z) {
+        x[j] = Double.NaN;
+        y[j] = Double.NaN;
+        z[j] = Double.NaN;
+    }
+}
@@ -0,0 +1,177 @@
+package com.satellite.eclipse.service.screening;
+
+import static com.satellite.eclipse.service.screening.Sgp4BatchPropagator.EARTH_RADIUS_KM;
+import static com.satellite.eclipse.service.screening.Sgp4BatchPropagator.J2;
+import static com.satellite.eclipse.service.screening.Sgp4BatchPropagator.X2O3;
+import static com.satellite.eclipse.service.screening.Sgp4BatchPropagator.XKE;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Branche proche-Terre du {@link Sgp4BatchPropagator} écrite avec l'API Vector
+ * (module incubé {@code jdk.incubator.vector}).
+ *
+ * Même algorithme que la boucle scalaire, appliqué à {@code SPECIES.length()}
+ * satellites à la fois : les branches deviennent des masques et l'équation de
+ * Kepler est itérée tant qu'une voie n'a pas convergé. Les fonctions
+ * trigonométriques de l'API Vector ne sont pas celles de Hipparchus : les
+ * positions diffèrent de la boucle scalaire au millimètre près.
+ *
+ * Cette classe n'est chargée que si {@link Sgp4BatchPropagator} a détecté le module.
+ */
+final class Sgp4VectorKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private Sgp4VectorKernel() {
+    }
+
+    /**
+     * Propage les satellites par paquets complets.
+     *
+     * @return Indice du premier satellite non traité, à propager par la boucle scalaire
+     */
+    static int propagate(Sgp4BatchPropagator e, double offset, double[] x, double[] y, double[] z) {
+        int upper = SPECIES.loopBound(e.size());
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            propagateLanes(e, i, offset, x, y, z);
+        }
+        return upper;
+    }
+
+    private static void propagateLanes(Sgp4BatchPropagator e, int i, double offset,
+            double[] x, double[] y, double[] z) {
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        DoubleVector t = DoubleVector.broadcast(SPECIES, offset).sub(load(e.epochOffset, i)).div(60.0);
+
+        DoubleVector xmdf = load(e.mo, i).add(load(e.mdot, i).mul(t));
+        DoubleVector argpdf = load(e.argpo, i).add(load(e.argpdot, i).mul(t));
+        DoubleVector nodedf = load(e.nodeo, i).add(load(e.nodedot, i).mul(t));
+        DoubleVector argpm = argpdf;
+        DoubleVector mm = xmdf;
+        DoubleVector t2 = t.mul(t);
+        DoubleVector nodem = nodedf.add(load(e.nodecf, i).mul(t2));
+        DoubleVector bstar = load(e.bstar, i);
+        DoubleVector tempa = one.sub(load(e.cc1, i).mul(t));
+        DoubleVector tempe = bstar.mul(load(e.cc4, i)).mul(t);
+        DoubleVector templ = load(e.t2cof, i).mul(t2);
+
+        // Termes complets pour les périgées au-dessus de 220 km (isimp faux)
+        VectorMask<Double> full = VectorMask.fromArray(SPECIES, e.isimp, i).not();
+        if (full.anyTrue()) {
+            DoubleVector delomg = load(e.omgcof, i).mul(t);
+            DoubleVector delmtemp = load(e.eta, i).mul(xmdf.lanewise(VectorOperators.COS)).add(1.0);
+            DoubleVector delm = load(e.xmcof, i).mul(delmtemp.mul(delmtemp).mul(delmtemp).sub(load(e.delmo, i)));
+            DoubleVector temp = delomg.add(delm);
+            DoubleVector mmFull = xmdf.add(temp);
+            mm = mm.blend(mmFull, full);
+            argpm = argpm.blend(argpdf.sub(temp), full);
+            DoubleVector t3 = t2.mul(t);
+            DoubleVector t4 = t3.mul(t);
+            tempa = tempa.blend(tempa.sub(load(e.d2, i).mul(t2)).sub(load(e.d3, i).mul(t3))
+                    .sub(load(e.d4, i).mul(t4)), full);
+            tempe = tempe.blend(tempe.add(bstar.mul(load(e.cc5, i))
+                    .mul(mmFull.lanewise(VectorOperators.SIN).sub(load(e.sinmao, i)))), full);
+            templ = templ.blend(templ.add(load(e.t3cof, i).mul(t3))
+                    .add(t4.mul(load(e.t4cof, i).add(t.mul(load(e.t5cof, i))))), full);
+        }
+
+        DoubleVector no = load(e.no, i);
+        DoubleVector am = DoubleVector.broadcast(SPECIES, XKE).div(no).lanewise(VectorOperators.POW, X2O3)
+                .mul(tempa).mul(tempa);
+        DoubleVector em = load(e.ecco, i).sub(tempe);
+        VectorMask<Double> invalid = em.compare(VectorOperators.GE, 1.0)
+                .or(em.compare(VectorOperators.LT, -0.001))
+                .or(am.compare(VectorOperators.LT, 0.95));
+        em = em.max(1.0e-6);
+        mm = mm.add(no.mul(templ));
+        DoubleVector xlm = mm.add(argpm).add(nodem);
+        nodem = normalizeAngle(nodem);
+        argpm = normalizeAngle(argpm);
+        xlm = normalizeAngle(xlm);
+        mm = normalizeAngle(xlm.sub(argpm).sub(nodem));
+
+        // Termes périodiques longs
+        DoubleVector axnl = em.mul(argpm.lanewise(VectorOperators.COS));
+        DoubleVector temp = one.div(am.mul(one.sub(em.mul(em))));
+        DoubleVector aynl = em.mul(argpm.lanewise(VectorOperators.SIN)).add(temp.mul(load(e.aycof, i)));
+        DoubleVector xl = mm.add(argpm).add(nodem).add(temp.mul(load(e.xlcof, i)).mul(axnl));
+
+        // Résolution de l'équation de Kepler, voie par voie jusqu'à convergence
+        DoubleVector u = normalizeAngle(xl.sub(nodem));
+        DoubleVector eo1 = u;
+        DoubleVector sineo1 = DoubleVector.zero(SPECIES);
+        DoubleVector coseo1 = one;
+        VectorMask<Double> active = SPECIES.maskAll(true);
+        for (int ktr = 0; ktr < 10 && active.anyTrue(); ktr++) {
+            DoubleVector sin = eo1.lanewise(VectorOperators.SIN);
+            DoubleVector cos = eo1.lanewise(VectorOperators.COS);
+            DoubleVector tem5 = one.sub(cos.mul(axnl)).sub(sin.mul(aynl));
+            tem5 = u.sub(aynl.mul(cos)).add(axnl.mul(sin)).sub(eo1).div(tem5).max(-0.95).min(0.95);
+            sineo1 = sineo1.blend(sin, active);
+            coseo1 = coseo1.blend(cos, active);
+            eo1 = eo1.blend(eo1.add(tem5), active);
+            active = active.and(tem5.abs().compare(VectorOperators.GE, 1.0e-12));
+        }
+
+        // Termes périodiques courts
+        DoubleVector ecose = axnl.mul(coseo1).add(aynl.mul(sineo1));
+        DoubleVector esine = axnl.mul(sineo1).sub(aynl.mul(coseo1));
+        DoubleVector el2 = axnl.mul(axnl).add(aynl.mul(aynl));
+        DoubleVector pl = am.mul(one.sub(el2));
+        invalid = invalid.or(pl.compare(VectorOperators.LT, 0.0));
+        DoubleVector rl = am.mul(one.sub(ecose));
+        DoubleVector betal = one.sub(el2).lanewise(VectorOperators.SQRT);
+        temp = esine.div(betal.add(1.0));
+        DoubleVector amOverRl = am.div(rl);
+        DoubleVector sinu = amOverRl.mul(sineo1.sub(aynl).sub(axnl.mul(temp)));
+        DoubleVector cosu = amOverRl.mul(coseo1.sub(axnl).add(aynl.mul(temp)));
+        DoubleVector su = sinu.lanewise(VectorOperators.ATAN2, cosu);
+        DoubleVector sin2u = cosu.add(cosu).mul(sinu);
+        DoubleVector cos2u = one.sub(sinu.mul(sinu).mul(2.0));
+        temp = one.div(pl);
+        DoubleVector temp1 = temp.mul(0.5 * J2);
+        DoubleVector temp2 = temp1.mul(temp);
+
+        DoubleVector mrt = rl.mul(one.sub(temp2.mul(1.5).mul(betal).mul(load(e.con41, i))))
+                .add(temp1.mul(0.5).mul(load(e.x1mth2, i)).mul(cos2u));
+        // Satellite retombé sous la surface terrestre
+        invalid = invalid.or(mrt.compare(VectorOperators.LT, 1.0));
+        DoubleVector cosio = load(e.cosio, i);
+        su = su.sub(temp2.mul(0.25).mul(load(e.x7thm1, i)).mul(sin2u));
+        DoubleVector xnode = nodem.add(temp2.mul(1.5).mul(cosio).mul(sin2u));
+        DoubleVector xinc = load(e.inclo, i).add(temp2.mul(1.5).mul(cosio).mul(load(e.sinio, i)).mul(cos2u));
+
+        DoubleVector sinsu = su.lanewise(VectorOperators.SIN);
+        DoubleVector cossu = su.lanewise(VectorOperators.COS);
+        DoubleVector snod = xnode.lanewise(VectorOperators.SIN);
+        DoubleVector cnod = xnode.lanewise(VectorOperators.COS);
+        DoubleVector sini = xinc.lanewise(VectorOperators.SIN);
+        DoubleVector cosi = xinc.lanewise(VectorOperators.COS);
+        DoubleVector xmx = snod.neg().mul(cosi);
+        DoubleVector xmy = cnod.mul(cosi);
+        DoubleVector scale = mrt.mul(EARTH_RADIUS_KM * 1000.0);
+        DoubleVector nan = DoubleVector.broadcast(SPECIES, Double.NaN);
+        scale.mul(xmx.mul(sinsu).add(cnod.mul(cossu))).blend(nan, invalid).intoArray(x, i);
+        scale.mul(xmy.mul(sinsu).add(snod.mul(cossu))).blend(nan, invalid).intoArray(y, i);
+        scale.mul(sini.mul(sinsu)).blend(nan, invalid).intoArray(z, i);
+    }
+
+    private static DoubleVector load(double[] values, int i) {
+        return DoubleVector.fromArray(SPECIES, values, i);
+    }
+
+    /**
+     * Équivalent de {@code MathUtils.normalizeAngle(a, PI)} : ramène l'angle dans [0, 2π).
+     */
+    private static DoubleVector normalizeAngle(DoubleVector a) {
+        DoubleVector turns = a.add(Math.PI).sub(Math.PI).div(TWO_PI);
+        // Partie entière par conversion en long, corrigée vers le bas pour les valeurs négatives
+        DoubleVector truncated = (DoubleVector) turns.convert(VectorOperators.D2L, 0).convert(VectorOperators.L2D, 0);
+        DoubleVector floor = truncated.blend(truncated.sub(1.0), truncated.compare(VectorOperators.GT, turns));
+        return a.sub(floor.mul(TWO_PI));
+    }
+}
@@ -0,0 +1,415 @@
+package com.satellite.eclipse.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Banc de charge de l'endpoint {@code /api/eclipse/calculate}.
+ *
+ * Le serveur est lancé dans un processus séparé à partir du jar de
+ * l'application ({@code ./mvnw package}), puis reçoit un mélange pondéré de
+ * requêtes ({@link LoadTestScenario}) à concurrence fixe. Le débit, les
+ * percentiles de latence et le taux d'erreur sont mesurés par le client ; le
+ * tas, le GC et les allocations sont lus sur le serveur via
+ * {@code /actuator/metrics}, sans compter la charge du client. Les résultats
+ * sont écrits dans un fichier JSON afin de comparer les versions entre elles.
+ *
+ * Désactivé par défaut ; à lancer avec :
+ * {@code ./mvnw test -Dtest=EclipseApiLoadTest -Dloadtest=true -Dloadtest.orekit-data=/tmp/orekit-data-master}
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class EclipseApiLoadTest {
+	private static final Logger logger = LoggerFactory.getLogger(EclipseApiLoadTest.class);
+	private static final String CONTEXT_PATH = "/satellite-eclipse";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	private final int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+	private final int requests = Integer.getInteger("loadtest.requests", 2000);
+	private final int warmupRequests = Integer.getInteger("loadtest.warmup-requests", 50);
+	private final int requestTimeoutSeconds = Integer.getInteger("loadtest.request-timeout-seconds", 120);
+	private final int startupTimeoutSeconds = Integer.getInteger("loadtest.startup-timeout-seconds", 180);
+	private final long metricsIntervalMillis = Long.getLong("loadtest.metrics-interval-millis", 1000);
+	private final long seed = Long.getLong("loadtest.seed", 42);
+	private final String label = System.getProperty("loadtest.label", "local");
+	private final String output = System.getProperty("loadtest.output", "loadtest-results.json");
+
+	private URI actuator;
+
+	@Test
+	void runLoadTest() throws Exception {
+		String orekitData = System.getProperty("loadtest.orekit-data");
+		if (orekitData == null) {
+			throw new IllegalStateException("Indiquer l'archive complète des données Orekit avec "
+					+ "-Dloadtest.orekit-data=<dossier> : le calcul précis a besoin des éphémérides JPL.");
+		}
+		int port = Integer.getInteger("loadtest.server-port", freePort());
+		String baseUrl = "http://localhost:" + port + CONTEXT_PATH;
+		URI endpoint = URI.create(baseUrl + "/api/eclipse/calculate");
+		actuator = URI.create(baseUrl + "/actuator/");
+
+		Process server = startServer(serverJar(), Paths.get(orekitData).toAbsolutePath(), port);
+		try {
+			awaitStartup(server);
+
+			// Tirage pondéré et reproductible des scénarios
+			List<LoadTestScenario> plan = plan(warmupRequests + requests);
+			List<byte[]> bodies = new ArrayList<>(plan.size());
+			for (LoadTestScenario scenario : plan) {
+				bodies.add(objectMapper.writeValueAsBytes(scenario.toRequest()));
+			}
+
+			logger.info("Échauffement: {} requêtes sur {}", warmupRequests, endpoint);
+			Map<String, LatencyRecorder> warmup = recorders();
+			execute(endpoint, plan, bodies, 0, warmupRequests, warmup);
+			int warmupErrors = warmup.values().stream().mapToInt(LatencyRecorder::errors).sum();
+			if (warmupErrors > 0) {
+				// Un serveur qui échoue (données Orekit incomplètes par exemple) fausserait toute la mesure
+				throw new IllegalStateException("Banc de charge abandonné: " + warmupErrors + " requêtes sur "
+						+ warmupRequests + " en échec pendant l'échauffement. Vérifier les données Orekit "
+						+ "(éphémérides JPL) et le journal du serveur " + serverLog().toAbsolutePath() + ".");
+			}
+
+			logger.info("Mesure: {} requêtes, concurrence {}", requests, concurrency);
+			Map<String, LatencyRecorder> byScenario = recorders();
+			Map<String, double[]> gcBefore = gcStatistics();
+			double allocatedBefore = metric("jvm.gc.memory.allocated", "COUNT");
+
+			// Pic de tas du serveur échantillonné pendant la mesure
+			AtomicLong peakHeap = new AtomicLong();
+			AtomicBoolean measuring = new AtomicBoolean(true);
+			Thread sampler = new Thread(() -> {
+				while (measuring.get()) {
+					try {
+						peakHeap.accumulateAndGet((long) metric("jvm.memory.used", "VALUE", "area:heap"), Math::max);
+						Thread.sleep(metricsIntervalMillis);
+					} catch (InterruptedException e) {
+						return;
+					} catch (IOException e) {
+						logger.warn("Lecture du tas du serveur impossible: {}", e.getMessage());
+					}
+				}
+			}, "loadtest-heap-sampler");
+			sampler.setDaemon(true);
+			sampler.start();
+
+			long started = System.nanoTime();
+			try {
+				execute(endpoint, plan, bodies, warmupRequests, plan.size(), byScenario);
+			} finally {
+				measuring.set(false);
+				sampler.interrupt();
+				sampler.join();
+			}
+			double elapsedSeconds = (System.nanoTime() - started) / 1.0e9;
+
+			Map<String, Object> report = report(byScenario, elapsedSeconds,
+					serverStatistics(gcBefore, allocatedBefore, peakHeap.get()));
+			Path outputFile = Paths.get(output).toAbsolutePath();
+			if (outputFile.getParent() != null) {
+				Files.createDirectories(outputFile.getParent());
+			}
+			objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputFile.toFile(), report);
+			logger.info("Résultats du banc de charge écrits dans {}: {}", outputFile, report.get("latency"));
+		} finally {
+			server.destroy();
+			if (!server.waitFor(30, TimeUnit.SECONDS)) {
+				server.destroyForcibly();
+			}
+		}
+	}
+
+	/**
+	 * Lance l'application dans sa propre JVM, avec le même exécutable Java que le banc.
+	 */
+	private Process startServer(Path jar, Path orekitData, int port) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		String jvmArgs = System.getProperty("loadtest.server-jvm-args", "").trim();
+		if (!jvmArgs.isEmpty()) {
+			command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+		}
+		command.add("-Dorekit.data.path=" + orekitData);
+		command.add("-jar");
+		command.add(jar.toString());
+		command.add("--server.port=" + port);
+		command.add("--server.servlet.context-path=" + CONTEXT_PATH);
+		command.add("--management.endpoints.web.exposure.include=health,metrics");
+
+		Path log = serverLog();
+		Files.createDirectories(log.getParent());
+		logger.info("Démarrage du serveur: {} (journal: {})", String.join(" ", command), log.toAbsolutePath());
+		return new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+	}
+
+	private void awaitStartup(Process server) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(startupTimeoutSeconds);
+		while (System.nanoTime() < deadline) {
+			if (!server.isAlive()) {
+				throw new IllegalStateException("Le serveur s'est arrêté au démarrage (code " + server.exitValue()
+						+ "), voir " + serverLog().toAbsolutePath());
+			}
+			try {
+				HttpResponse<Void> response = client.send(HttpRequest.newBuilder(actuator.resolve("health"))
+						.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// Serveur pas encore à l'écoute
+			}
+			Thread.sleep(500);
+		}
+		throw new IllegalStateException("Serveur non disponible après " + startupTimeoutSeconds + " s");
+	}
+
+	/**
+	 * Jar exécutable de l'application ({@code loadtest.server-jar}, sinon celui de {@code target}).
+	 */
+	private static Path serverJar() throws IOException {
+		String configured = System.getProperty("loadtest.server-jar");
+		if (configured != null) {
+			return Paths.get(configured).toAbsolutePath();
+		}
+		try (DirectoryStream<Path> jars = Files.newDirectoryStream(Paths.get("target"), "satellite-eclipse-calculator-*.jar")) {
+			for (Path jar : jars) {
+				return jar.toAbsolutePath();
+			}
+		} catch (IOException e) {
+			// Dossier target absent : même message que sans jar
+		}
+		throw new IllegalStateException("Jar de l'application introuvable : lancer ./mvnw package -DskipTests "
+				+ "ou indiquer -Dloadtest.server-jar=<fichier>");
+	}
+
+	private static Path serverLog() {
+		return Paths.get("target", "loadtest-server.log");
+	}
+
+	private static int freePort() {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		} catch (IOException e) {
+			throw new IllegalStateException("Aucun port libre pour le serveur", e);
+		}
+	}
+
+	private static Map<String, LatencyRecorder> recorders() {
+		Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+		LoadTestScenario.DEFAULT_MIX.forEach(s -> recorders.put(s.getName(), new LatencyRecorder()));
+		return recorders;
+	}
+
+	private List<LoadTestScenario> plan(int size) {
+		List<LoadTestScenario> weighted = new ArrayList<>();
+		for (LoadTestScenario scenario : LoadTestScenario.DEFAULT_MIX) {
+			for (int i = 0; i < scenario.getWeight(); i++) {
+				weighted.add(scenario);
+			}
+		}
+		Random random = new Random(seed);
+		List<LoadTestScenario> plan = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			plan.add(weighted.get(random.nextInt(weighted.size())));
+		}
+		return plan;
+	}
+
+	/**
+	 * Exécute les requêtes [from, to) du plan en boucle fermée avec {@code concurrency} clients
+	 * et enregistre latences et échecs par scénario.
+	 */
+	private void execute(URI endpoint, List<LoadTestScenario> plan, List<byte[]> bodies,
+			int from, int to, Map<String, LatencyRecorder> byScenario) throws Exception {
+		AtomicInteger next = new AtomicInteger(from);
+		ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int c = 0; c < concurrency; c++) {
+				futures.add(clients.submit(() -> {
+					for (int i = next.getAndIncrement(); i < to; i = next.getAndIncrement()) {
+						HttpRequest request = HttpRequest.newBuilder(endpoint)
+								.timeout(Duration.ofSeconds(requestTimeoutSeconds))
+								.header("Content-Type", "application/json")
+								.POST(HttpRequest.BodyPublishers.ofByteArray(bodies.get(i)))
+								.build();
+						long start = System.nanoTime();
+						boolean success;
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							success = response.statusCode() == 200;
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						} catch (Exception e) {
+							success = false;
+						}
+						long latency = System.nanoTime() - start;
+						byScenario.get(plan.get(i).getName()).record(latency, success);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private Map<String, Object> report(Map<String, LatencyRecorder> byScenario, double elapsedSeconds,
+			Map<String, Object> server) {
+		LatencyRecorder overall = new LatencyRecorder();
+		Map<String, Object> scenarios = new LinkedHashMap<>();
+		for (Map.Entry<String, LatencyRecorder> entry : byScenario.entrySet()) {
+			scenarios.put(entry.getKey(), entry.getValue().summary());
+		}
+		// Les latences globales sont reconstituées à partir des enregistreurs par scénario
+		byScenario.values().forEach(recorder -> recorder.copyTo(overall));
+
+		Map<String, Object> configuration = new LinkedHashMap<>();
+		configuration.put("concurrency", concurrency);
+		configuration.put("requests", requests);
+		configuration.put("warmupRequests", warmupRequests);
+		configuration.put("seed", seed);
+		configuration.put("serverJvmArgs", System.getProperty("loadtest.server-jvm-args", ""));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("label", label);
+		report.put("timestamp", Instant.now().toString());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		report.put("configuration", configuration);
+		report.put("durationSeconds", elapsedSeconds);
+		report.put("throughputPerSecond", overall.count() / elapsedSeconds);
+		report.put("latency", overall.summary());
+		report.put("scenarios", scenarios);
+		report.put("server", server);
+		return report;
+	}
+
+	/**
+	 * Statistiques du processus serveur pendant la mesure, lues via Actuator.
+	 */
+	private Map<String, Object> serverStatistics(Map<String, double[]> gcBefore, double allocatedBefore,
+			long peakHeap) throws IOException {
+		List<Map<String, Object>> collectors = new ArrayList<>();
+		for (Map.Entry<String, double[]> entry : gcStatistics().entrySet()) {
+			double[] after = entry.getValue();
+			double[] before = gcBefore.getOrDefault(entry.getKey(), new double[2]);
+			Map<String, Object> collector = new LinkedHashMap<>();
+			collector.put("name", entry.getKey());
+			collector.put("pauses", (long) (after[0] - before[0]));
+			collector.put("pauseMillis", (after[1] - before[1]) * 1000.0);
+			collectors.add(collector);
+		}
+
+		Map<String, Object> jvm = new LinkedHashMap<>();
+		jvm.put("heapUsedBytes", (long) metric("jvm.memory.used", "VALUE", "area:heap"));
+		jvm.put("heapCommittedBytes", (long) metric("jvm.memory.committed", "VALUE", "area:heap"));
+		jvm.put("heapMaxBytes", (long) metric("jvm.memory.max", "VALUE", "area:heap"));
+		jvm.put("heapPeakUsedBytes", peakHeap);
+		jvm.put("allocatedBytes", (long) (metric("jvm.gc.memory.allocated", "COUNT") - allocatedBefore));
+		jvm.put("garbageCollectors", collectors);
+		return jvm;
+	}
+
+	/**
+	 * Nombre de pauses et temps de pause cumulé (en secondes) par type de pause GC.
+	 */
+	private Map<String, double[]> gcStatistics() throws IOException {
+		Map<String, double[]> statistics = new LinkedHashMap<>();
+		JsonNode pauses = metricNode("jvm.gc.pause");
+		if (pauses == null) {
+			return statistics;
+		}
+		for (JsonNode tag : pauses.path("availableTags")) {
+			if (!tag.path("tag").asText().equals("action")) {
+				continue;
+			}
+			for (JsonNode action : tag.path("values")) {
+				String tagFilter = "action:" + action.asText();
+				statistics.put(action.asText(), new double[] {
+					metric("jvm.gc.pause", "COUNT", tagFilter),
+					metric("jvm.gc.pause", "TOTAL_TIME", tagFilter) });
+			}
+		}
+		return statistics;
+	}
+
+	/**
+	 * @return La mesure demandée d'une métrique du serveur, ou 0 si la métrique n'existe pas encore
+	 */
+	private double metric(String name, String statistic, String... tags) throws IOException {
+		JsonNode node = metricNode(name, tags);
+		if (node != null) {
+			for (JsonNode measurement : node.path("measurements")) {
+				if (measurement.path("statistic").asText().equals(statistic)) {
+					return measurement.path("value").asDouble();
+				}
+			}
+		}
+		return 0.0;
+	}
+
+	private JsonNode metricNode(String name, String... tags) throws IOException {
+		StringBuilder query = new StringBuilder("metrics/").append(name);
+		for (int i = 0; i < tags.length; i++) {
+			query.append(i == 0 ? '?' : '&').append("tag=").append(URLEncoder.encode(tags[i], StandardCharsets.UTF_8));
+		}
+		try {
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(actuator.resolve(query.toString()))
+					.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() == 404) {
+				// Métrique créée au premier événement (aucune pause GC par exemple)
+				return null;
+			}
+			if (response.statusCode() != 200) {
+				throw new IOException("Métrique " + name + " indisponible: HTTP " + response.statusCode());
+			}
+			return objectMapper.readTree(response.body());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Lecture de la métrique " + name + " interrompue", e);
+		}
+	}
+}
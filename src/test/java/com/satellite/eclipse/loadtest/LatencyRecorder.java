@@ -0,0 +1,95 @@
+package com.satellite.eclipse.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Enregistre les latences d'un ensemble de requêtes et en calcule les percentiles.
+ * Les latences sont conservées en nanosecondes dans un tableau primitif.
+ *
+ * Un percentile n'est publié que si au moins {@value #MIN_TAIL_SAMPLES} mesures
+ * le dépassent (p95 à partir de 200 mesures, p99 de 1 000, p999 de 10 000) ;
+ * en deçà il vaut null, car il ne serait que l'une des toutes dernières valeurs.
+ */
+public class LatencyRecorder {
+    static final int MIN_TAIL_SAMPLES = 10;
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * Ajoute toutes les latences de cet enregistreur à un autre (agrégation).
+     */
+    public synchronized void copyTo(LatencyRecorder target) {
+        target.addAll(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private synchronized void addAll(long[] values, int errorCount) {
+        if (count + values.length > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + values.length));
+        }
+        System.arraycopy(values, 0, latencies, count, values.length);
+        count += values.length;
+        errors += errorCount;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    public synchronized int errors() {
+        return errors;
+    }
+
+    /**
+     * @return Statistiques de latence en millisecondes (percentiles, moyenne, maximum)
+     */
+    public synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+        summary.put("p50Millis", reportedPercentile(sorted, 0.50));
+        summary.put("p95Millis", reportedPercentile(sorted, 0.95));
+        summary.put("p99Millis", reportedPercentile(sorted, 0.99));
+        summary.put("p999Millis", reportedPercentile(sorted, 0.999));
+        summary.put("maxMillis", count == 0 ? 0.0 : sorted[count - 1] / 1.0e6);
+        summary.put("meanMillis", count == 0 ? 0.0 : Arrays.stream(sorted).average().orElse(0.0) / 1.0e6);
+        return summary;
+    }
+
+    /**
+     * Percentile publié dans le résumé, ou null si trop peu de mesures le dépassent.
+     */
+    static Double reportedPercentile(long[] sorted, double quantile) {
+        if (sorted.length * (1.0 - quantile) < MIN_TAIL_SAMPLES - 1.0e-9) {
+            return null;
+        }
+        return percentile(sorted, quantile);
+    }
+
+    /**
+     * Percentile par la méthode du rang le plus proche, en millisecondes.
+     */
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1.0e6;
+    }
+}
@@ -0,0 +1,55 @@
+package com.satellite.eclipse.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyRecorderTest {
+
+	@Test
+	void percentileUsesNearestRank() {
+		long[] sorted = new long[100];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = (i + 1) * 1_000_000L; // 1 à 100 ms
+		}
+
+		assertEquals(1.0, LatencyRecorder.percentile(sorted, 0.0));
+		assertEquals(50.0, LatencyRecorder.percentile(sorted, 0.50));
+		assertEquals(95.0, LatencyRecorder.percentile(sorted, 0.95));
+		assertEquals(99.0, LatencyRecorder.percentile(sorted, 0.99));
+		assertEquals(100.0, LatencyRecorder.percentile(sorted, 0.999));
+		assertEquals(100.0, LatencyRecorder.percentile(sorted, 1.0));
+		assertEquals(0.0, LatencyRecorder.percentile(new long[0], 0.99));
+	}
+
+	@Test
+	void tailPercentilesNeedEnoughSamples() {
+		assertNull(LatencyRecorder.reportedPercentile(new long[199], 0.95));
+		assertNotNull(LatencyRecorder.reportedPercentile(new long[200], 0.95));
+		assertNull(LatencyRecorder.reportedPercentile(new long[999], 0.99));
+		assertNotNull(LatencyRecorder.reportedPercentile(new long[1000], 0.99));
+		assertNull(LatencyRecorder.reportedPercentile(new long[9999], 0.999));
+		assertNotNull(LatencyRecorder.reportedPercentile(new long[10000], 0.999));
+	}
+
+	@Test
+	void summaryReportsCountAndOmitsUnreliableTails() {
+		LatencyRecorder recorder = new LatencyRecorder();
+		for (int i = 1; i <= 500; i++) {
+			recorder.record(i * 1_000_000L, i % 100 != 0);
+		}
+
+		Map<String, Object> summary = recorder.summary();
+		assertEquals(500, summary.get("count"));
+		assertEquals(5, summary.get("errors"));
+		assertEquals(250.0, summary.get("p50Millis"));
+		assertEquals(475.0, summary.get("p95Millis"));
+		assertNull(summary.get("p99Millis"));
+		assertNull(summary.get("p999Millis"));
+		assertEquals(500.0, summary.get("maxMillis"));
+	}
+}
@@ -0,0 +1,72 @@
+package com.satellite.eclipse.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.satellite.eclipse.model.EclipseRequest;
+import com.satellite.eclipse.model.TleData;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Scénario de charge : un régime d'orbite, une durée de fenêtre et un poids
+ * dans le mélange de requêtes.
+ *
+ * Les fenêtres démarrent à l'époque de chaque TLE pour éviter que la
+ * propagation ne diverge (rentrée atmosphérique de l'ISS par exemple).
+ */
+@Getter
+@AllArgsConstructor
+public class LoadTestScenario {
+    private final String name;
+    private final TleData tleData;
+    private final Instant startDate;
+    private final Duration window;
+    private final int weight;
+
+    private static final TleData ISS = new TleData(
+            "ISS (ZARYA)",
+            "1 25544U 98067A   22085.41476591  .00007277  00000-0  13908-3 0  9990",
+            "2 25544  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473");
+    private static final TleData NOAA_19 = new TleData(
+            "NOAA 19",
+            "1 33591U 09005A   25084.51023600  .00000082  00000-0  67956-4 0  9990",
+            "2 33591  99.1709 149.6914 0013503 297.9226  62.0429 14.12432383828952");
+    private static final TleData SENTINEL_2A = new TleData(
+            "SENTINEL-2A",
+            "1 40697U 15028A   25084.47617259 -.00000016  00000-0  21213-4 0  9997",
+            "2 40697  98.5686 131.0303 0001113  82.1501 278.9845 14.30820665510128");
+    private static final TleData GPS = new TleData(
+            "GPS BIIRM-1 (PRN 17)",
+            "1 28874U 05038A   25084.53313657  .00000072  00000-0  00000-0 0  9994",
+            "2 28874  55.7782 114.9025 0090068 248.1830 110.9596  2.00559640142150");
+    private static final TleData IRIDIUM = new TleData(
+            "IRIDIUM 133",
+            "1 43571U 18061F   25084.51862997  .00000069  00000-0  17697-4 0  9991",
+            "2 43571  86.3994 189.6022 0002036  89.9756 270.1679 14.34217841345968");
+
+    private static final Instant ISS_EPOCH = Instant.parse("2022-03-26T09:57:15Z");
+    private static final Instant EPOCH_2025 = Instant.parse("2025-03-25T12:00:00Z");
+
+    /**
+     * Mélange par défaut : majorité de requêtes LEO sur un jour, quelques
+     * fenêtres longues et orbites MEO plus coûteuses.
+     */
+    public static final List<LoadTestScenario> DEFAULT_MIX = List.of(
+            new LoadTestScenario("leo-iss-1h", ISS, ISS_EPOCH, Duration.ofHours(1), 15),
+            new LoadTestScenario("leo-iss-1d", ISS, ISS_EPOCH, Duration.ofDays(1), 25),
+            new LoadTestScenario("sso-noaa19-1d", NOAA_19, EPOCH_2025, Duration.ofDays(1), 15),
+            new LoadTestScenario("sso-sentinel2a-7d", SENTINEL_2A, EPOCH_2025, Duration.ofDays(7), 10),
+            new LoadTestScenario("leo-iridium-6h", IRIDIUM, EPOCH_2025, Duration.ofHours(6), 20),
+            new LoadTestScenario("meo-gps-1d", GPS, EPOCH_2025, Duration.ofDays(1), 10),
+            new LoadTestScenario("meo-gps-7d", GPS, EPOCH_2025, Duration.ofDays(7), 5));
+
+    /**
+     * @return La requête de calcul d'éclipse correspondant au scénario
+     */
+    public EclipseRequest toRequest() {
+        return new EclipseRequest(tleData, startDate, startDate.plus(window), 60);
+    }
+}
@@ -0,0 +1,121 @@
+package com.satellite.eclipse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.frames.FramesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+import com.satellite.eclipse.model.CalculationMode;
+import com.satellite.eclipse.model.EclipsePeriod;
+import com.satellite.eclipse.model.EclipseRequest;
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
+import com.satellite.eclipse.model.TleData;
+
+class EclipseCalculatorServiceTest {
+
+	private static final TleData ISS = new TleData("ISS (ZARYA)",
+			"1 25544U 98067A   22085.41476591  .00007277  00000-0  13908-3 0  9990",
+			"2 25544  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473");
+
+	// Même orbite avec un B* extrême : retombée en quelques heures
+	private static final TleData DECAYING = new TleData("DECAYING",
+			"1 25544U 98067A   22085.41476591  .00007277  00000-0  99999-0 0  9992",
+			"2 25544  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473");
+
+	private static final Instant START = Instant.parse("2022-03-26T00:00:00Z");
+	private static final Instant END = Instant.parse("2022-03-27T00:00:00Z");
+	private static final int STEP = 60;
+
+	// Soleil fixe dans EME2000 : les deux modes voient exactement la même géométrie,
+	// sans dépendre des éphémérides JPL
+	private static final PVCoordinatesProvider FIXED_SUN = (date, frame) -> FramesFactory.getEME2000()
+			.getTransformTo(frame, date)
+			.transformPVCoordinates(new TimeStampedPVCoordinates(date,
+					new Vector3D(Constants.IAU_2012_ASTRONOMICAL_UNIT, 0.0, 0.0), Vector3D.ZERO));
+
+	private final EclipseCalculatorService service = new EclipseCalculatorService(null) {
+		@Override
+		PVCoordinatesProvider sun() {
+			return FIXED_SUN;
+		}
+	};
+
+	@BeforeAll
+	static void loadOrekitData() {
+		DataContext.getDefault().getDataProvidersManager()
+				.addProvider(new DirectoryCrawler(new File("orekit-data-master")));
+	}
+
+	@Test
+	void screeningMatchesPreciseWithinHalfStep() {
+		List<EclipsePeriod> precise = service.calculateEclipsePeriods(
+				new EclipseRequest(ISS, START, END, STEP, CalculationMode.PRECISE));
+		List<EclipsePeriod> screening = service.calculateEclipsePeriods(
+				new EclipseRequest(ISS, START, END, STEP, CalculationMode.SCREENING));
+
+		assertFalse(precise.isEmpty());
+		assertEquals(precise.size(), screening.size());
+		long toleranceMillis = STEP * 1000L / 2;
+		for (int i = 0; i < precise.size(); i++) {
+			long entryError = Duration.between(precise.get(i).getEntryTime(), screening.get(i).getEntryTime()).toMillis();
+			long exitError = Duration.between(precise.get(i).getExitTime(), screening.get(i).getExitTime()).toMillis();
+			assertTrue(Math.abs(entryError) <= toleranceMillis, "Entrée " + i + ": " + entryError + " ms");
+			assertTrue(Math.abs(exitError) <= toleranceMillis, "Sortie " + i + ": " + exitError + " ms");
+		}
+	}
+
+	@Test
+	void decayedSatelliteIsReportedAsError() {
+		List<SatelliteEclipseSummary> summaries = service.screenFleet(
+				new FleetScreeningRequest(List.of(ISS, DECAYING), START, END, STEP));
+
+		assertNull(summaries.get(0).getError());
+		assertTrue(summaries.get(0).getEclipseCount() > 0);
+		assertNotNull(summaries.get(1).getError());
+		assertThrows(RuntimeException.class, () -> service.calculateEclipsePeriods(
+				new EclipseRequest(DECAYING, START, END, STEP, CalculationMode.SCREENING)));
+	}
+
+	@Test
+	void malformedTleIsReportedWithoutFailingTheFleet() {
+		TleData malformed = new TleData("MALFORMED", "1 25544U", ISS.getLine2());
+		List<SatelliteEclipseSummary> summaries = service.screenFleet(
+				new FleetScreeningRequest(List.of(malformed, ISS), START, END, STEP));
+
+		assertEquals(2, summaries.size());
+		assertEquals("MALFORMED", summaries.get(0).getSatelliteName());
+		assertNotNull(summaries.get(0).getError());
+		assertNull(summaries.get(1).getError());
+		assertTrue(summaries.get(1).getEclipseCount() > 0);
+	}
+
+	@Test
+	void rejectsInvalidWindow() {
+		assertThrows(IllegalArgumentException.class, () -> service.calculateEclipsePeriods(
+				new EclipseRequest(ISS, START, END, 0, CalculationMode.SCREENING)));
+		assertThrows(IllegalArgumentException.class, () -> service.calculateEclipsePeriods(
+				new EclipseRequest(ISS, END, START, STEP, CalculationMode.SCREENING)));
+		assertThrows(IllegalArgumentException.class, () -> service.screenFleet(
+				new FleetScreeningRequest(List.of(ISS), START, START, STEP)));
+		assertThrows(IllegalArgumentException.class, () -> service.screenFleet(
+				new FleetScreeningRequest(List.of(ISS), START, END, -60)));
+	}
+}
@@ -0,0 +1,141 @@
+package com.satellite.eclipse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+import com.satellite.eclipse.model.EclipsePeriod;
+
+class EclipseEventAccumulatorTest {
+
+	@BeforeAll
+	static void loadOrekitData() {
+		DataContext.getDefault().getDataProvidersManager()
+				.addProvider(new DirectoryCrawler(new File("orekit-data-master")));
+	}
+
+	@Test
+	void entryWithoutExitIsDropped() {
+		AbsoluteDate reference = utc("2022-03-26T00:00:00Z");
+		EclipseEventAccumulator accumulator = new EclipseEventAccumulator();
+		accumulator.reset(reference);
+
+		// Sortie sans entrée (éclipse en cours au début) : ignorée
+		accumulator.eventOccurred(state(reference.shiftedBy(10.0)), null, true);
+		accumulator.eventOccurred(state(reference.shiftedBy(100.0)), null, false);
+		accumulator.eventOccurred(state(reference.shiftedBy(2200.0)), null, true);
+		// Entrée sans sortie (éclipse en cours à la fin) : ignorée
+		accumulator.eventOccurred(state(reference.shiftedBy(5000.0)), null, false);
+
+		List<EclipsePeriod> periods = accumulator.toEclipsePeriods();
+		assertEquals(1, periods.size());
+		assertEquals(Instant.parse("2022-03-26T00:01:40Z"), periods.get(0).getEntryTime());
+		assertEquals(Instant.parse("2022-03-26T00:36:40Z"), periods.get(0).getExitTime());
+		assertEquals(35.0, periods.get(0).getDurationMinutes(), 1.0e-9);
+	}
+
+	@Test
+	void instantsKeepSubMillisecondPrecision() {
+		EclipseEventAccumulator accumulator = new EclipseEventAccumulator();
+		accumulator.reset(utc("2022-03-26T00:00:00Z"));
+		accumulator.add(1.0001234567, 2.9999999996);
+
+		EclipsePeriod period = accumulator.toEclipsePeriods().get(0);
+		assertEquals(Instant.parse("2022-03-26T00:00:01.000123457Z"), period.getEntryTime());
+		assertEquals(Instant.parse("2022-03-26T00:00:03Z"), period.getExitTime());
+	}
+
+	@Test
+	void offsetsAcrossLeapSecondUseUtc() {
+		EclipseEventAccumulator accumulator = new EclipseEventAccumulator();
+		accumulator.reset(utc("2016-12-31T23:59:00Z"));
+		// 120 s SI après 23:59:00 : 61 s jusqu'à minuit (23:59:60 compris) puis 59 s
+		accumulator.add(30.0, 120.0);
+
+		EclipsePeriod period = accumulator.toEclipsePeriods().get(0);
+		assertEquals(Instant.parse("2016-12-31T23:59:30Z"), period.getEntryTime());
+		assertEquals(Instant.parse("2017-01-01T00:00:59Z"), period.getExitTime());
+		assertEquals(1.5, period.getDurationMinutes(), 1.0e-9);
+	}
+
+	@Test
+	void resetStartsAFreshCalculation() {
+		EclipseEventAccumulator accumulator = new EclipseEventAccumulator();
+		accumulator.reset(utc("2022-03-26T00:00:00Z"));
+		for (int i = 0; i < 100; i++) {
+			accumulator.add(i * 10.0, i * 10.0 + 5.0);
+		}
+		accumulator.eventOccurred(state(utc("2022-03-26T01:00:00Z")), null, false);
+
+		accumulator.reset(utc("2022-03-27T00:00:00Z"));
+		assertEquals(0, accumulator.size());
+		// L'entrée en attente du calcul précédent ne doit pas être réutilisée
+		accumulator.eventOccurred(state(utc("2022-03-27T00:10:00Z")), null, true);
+		accumulator.add(60.0, 120.0);
+
+		List<EclipsePeriod> periods = accumulator.toEclipsePeriods();
+		assertEquals(1, periods.size());
+		assertEquals(Instant.parse("2022-03-27T00:01:00Z"), periods.get(0).getEntryTime());
+		assertEquals(60.0, accumulator.totalSeconds(), 1.0e-9);
+	}
+
+	@Test
+	void eventsDoNotAllocateOnceWarm() {
+		AbsoluteDate reference = utc("2022-03-26T00:00:00Z");
+		SpacecraftState entry = state(reference.shiftedBy(10.0));
+		SpacecraftState exit = state(reference.shiftedBy(20.0));
+		EclipseEventAccumulator accumulator = new EclipseEventAccumulator();
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		// Échauffement : agrandit les tableaux et laisse le JIT compiler le chemin chaud
+		for (int round = 0; round < 20; round++) {
+			feed(accumulator, reference, entry, exit);
+		}
+
+		long before = threads.getThreadAllocatedBytes(threadId);
+		feed(accumulator, reference, entry, exit);
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		assertEquals(5_000, accumulator.size());
+		// Le gestionnaire anonyme précédent créait une Date, un Instant et un
+		// EclipsePeriod par éclipse, soit plusieurs centaines de kilo-octets ici
+		assertTrue(allocated < 4_096, allocated + " octets alloués pour 10 000 événements");
+	}
+
+	private static void feed(EclipseEventAccumulator accumulator, AbsoluteDate reference,
+			SpacecraftState entry, SpacecraftState exit) {
+		accumulator.reset(reference);
+		for (int i = 0; i < 5_000; i++) {
+			accumulator.eventOccurred(entry, null, false);
+			accumulator.eventOccurred(exit, null, true);
+		}
+	}
+
+	private static AbsoluteDate utc(String instant) {
+		return new AbsoluteDate(Date.from(Instant.parse(instant)), TimeScalesFactory.getUTC());
+	}
+
+	private static SpacecraftState state(AbsoluteDate date) {
+		PVCoordinates pv = new PVCoordinates(new Vector3D(6.8e6, 0.0, 0.0), new Vector3D(0.0, 7.6e3, 0.0));
+		return new SpacecraftState(new CartesianOrbit(pv, FramesFactory.getEME2000(), date, Constants.EIGEN5C_EARTH_MU));
+	}
+}
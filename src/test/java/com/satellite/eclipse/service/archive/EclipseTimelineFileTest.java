@@ -0,0 +1,128 @@
+package com.satellite.eclipse.service.archive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EclipseTimelineFileTest {
+
+	private static final long START = 1_600_000_000_000_000L;
+	private static final long ORBIT = 5_400_000_000L;
+
+	@TempDir
+	Path archive;
+
+	@Test
+	void rangeQuerySpansSeveralAppendsAndBlocks() throws Exception {
+		int n = 1000;
+		long[] entries = new long[n];
+		long[] exits = new long[n];
+		for (int i = 0; i < n; i++) {
+			entries[i] = START + i * ORBIT + 123;
+			exits[i] = entries[i] + 2_100_000_001L;
+		}
+		EclipseTimelineFile timeline = timeline();
+		timeline.append(Arrays.copyOf(entries, 300), Arrays.copyOf(exits, 300), 300);
+		timeline.append(Arrays.copyOfRange(entries, 300, n), Arrays.copyOfRange(exits, 300, n), n - 300);
+
+		List<long[]> found = new ArrayList<>();
+		timeline.query(entries[250] + 1, entries[700], (entry, exit) -> found.add(new long[] { entry, exit }));
+
+		assertEquals(450, found.size());
+		for (int i = 0; i < found.size(); i++) {
+			assertArrayEquals(new long[] { entries[250 + i], exits[250 + i] }, found.get(i));
+		}
+		assertEquals(exits[n - 1], timeline.lastExitMicros());
+	}
+
+	@Test
+	void rejectsEclipsesBeforeEndOfHistory() throws Exception {
+		EclipseTimelineFile timeline = timeline();
+		timeline.append(new long[] { START + ORBIT }, new long[] { START + ORBIT + 1000 }, 1);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> timeline.append(new long[] { START }, new long[] { START + 1000 }, 1));
+	}
+
+	@Test
+	void tornIndexRecordIsIgnoredThenRepaired() throws Exception {
+		EclipseTimelineFile timeline = timeline();
+		long[] entries = new long[300];
+		long[] exits = new long[300];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = START + i * ORBIT;
+			exits[i] = entries[i] + 2_000_000_000L;
+		}
+		timeline.append(entries, exits, entries.length);
+
+		// Arrêt brutal simulé : le dernier enregistrement d'index (second bloc) est tronqué
+		Path index = archive.resolve("25544.idx");
+		try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 10);
+		}
+
+		EclipseTimelineFile reopened = timeline();
+		long lastIndexed = exits[EclipseTimelineFile.MAX_BLOCK_ENTRIES - 1];
+		assertEquals(lastIndexed, reopened.lastExitMicros());
+		List<long[]> found = new ArrayList<>();
+		reopened.query(Long.MIN_VALUE, Long.MAX_VALUE, (entry, exit) -> found.add(new long[] { entry, exit }));
+		assertEquals(EclipseTimelineFile.MAX_BLOCK_ENTRIES, found.size());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> reopened.append(new long[] { lastIndexed - 1 }, new long[] { lastIndexed + 1000 }, 1));
+		long next = lastIndexed + ORBIT;
+		reopened.append(new long[] { next }, new long[] { next + 1000 }, 1);
+
+		assertEquals(next + 1000, reopened.lastExitMicros());
+		assertEquals(0, (Files.size(index) - 8) % 24);
+		found.clear();
+		reopened.query(Long.MIN_VALUE, Long.MAX_VALUE, (entry, exit) -> found.add(new long[] { entry, exit }));
+		assertEquals(EclipseTimelineFile.MAX_BLOCK_ENTRIES + 1, found.size());
+		assertArrayEquals(new long[] { next, next + 1000 }, found.get(found.size() - 1));
+	}
+
+	@Test
+	void replayedAppendOnlyWritesMissingEclipses() throws Exception {
+		EclipseTimelineFile timeline = timeline();
+		long[] entries = new long[600];
+		long[] exits = new long[600];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = START + i * ORBIT;
+			exits[i] = entries[i] + 2_000_000_000L;
+		}
+		timeline.append(entries, exits, entries.length);
+
+		// Arrêt brutal simulé pendant l'écriture de l'index : seul le premier des trois blocs est référencé
+		Path index = archive.resolve("25544.idx");
+		try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+			channel.truncate(8 + 24 + 10);
+		}
+
+		EclipseTimelineFile reopened = timeline();
+		reopened.append(entries, exits, entries.length);
+		reopened.append(entries, exits, entries.length);
+
+		assertEquals(exits[exits.length - 1], reopened.lastExitMicros());
+		List<long[]> found = new ArrayList<>();
+		reopened.query(Long.MIN_VALUE, Long.MAX_VALUE, (entry, exit) -> found.add(new long[] { entry, exit }));
+		assertEquals(entries.length, found.size());
+		for (int i = 0; i < found.size(); i++) {
+			assertArrayEquals(new long[] { entries[i], exits[i] }, found.get(i));
+		}
+	}
+
+	private EclipseTimelineFile timeline() {
+		return new EclipseTimelineFile(archive.resolve("25544.ecl"), archive.resolve("25544.idx"));
+	}
+}
@@ -0,0 +1,55 @@
+package com.satellite.eclipse.service.coordinator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+	private static final List<String> WORKERS = List.of(
+			"http://localhost:8082/satellite-eclipse",
+			"http://localhost:8083/satellite-eclipse",
+			"http://localhost:8084/satellite-eclipse");
+
+	@Test
+	void keysAreSpreadAcrossWorkers() {
+		ConsistentHashRing ring = new ConsistentHashRing(WORKERS);
+		Map<String, Integer> counts = new HashMap<>();
+		for (int norad = 10000; norad < 40000; norad++) {
+			counts.merge(ring.workerFor(String.valueOf(norad), Set.of()), 1, Integer::sum);
+		}
+
+		assertEquals(WORKERS.size(), counts.size());
+		counts.values().forEach(count -> assertTrue(count > 5000, "Répartition déséquilibrée: " + counts));
+	}
+
+	@Test
+	void onlyKeysOfExcludedWorkerMove() {
+		ConsistentHashRing ring = new ConsistentHashRing(WORKERS);
+		String failed = WORKERS.get(1);
+		for (int norad = 10000; norad < 12000; norad++) {
+			String key = String.valueOf(norad);
+			String owner = ring.workerFor(key, Set.of());
+			String fallback = ring.workerFor(key, Set.of(failed));
+			if (owner.equals(failed)) {
+				assertNotEquals(failed, fallback);
+			} else {
+				assertEquals(owner, fallback);
+			}
+		}
+	}
+
+	@Test
+	void noWorkerWhenAllExcluded() {
+		ConsistentHashRing ring = new ConsistentHashRing(WORKERS);
+		assertNull(ring.workerFor("25544", Set.copyOf(WORKERS)));
+	}
+}
@@ -0,0 +1,241 @@
+package com.satellite.eclipse.service.coordinator;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.test.web.client.UnorderedRequestExpectationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satellite.eclipse.model.FleetScreeningRequest;
+import com.satellite.eclipse.model.SatelliteEclipseSummary;
+import com.satellite.eclipse.model.TleData;
+
+class FleetCoordinatorServiceTest {
+
+	private static final String WORKER_A = "http://worker-a/satellite-eclipse";
+	private static final String WORKER_B = "http://worker-b/satellite-eclipse";
+	private static final String BAD_NORAD = "99999";
+	private static final int BATCH_SIZE = 4;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final Instant START = Instant.parse("2025-03-25T00:00:00Z");
+	private static final Instant END = Instant.parse("2025-03-26T00:00:00Z");
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final AtomicInteger workerACalls = new AtomicInteger();
+	private final AtomicInteger workerBCalls = new AtomicInteger();
+	private FleetCoordinatorService coordinator;
+
+	@AfterEach
+	void shutdown() {
+		if (coordinator != null) {
+			coordinator.shutdown();
+		}
+	}
+
+	@Test
+	void unreachableWorkerIsExcludedAndBadSatelliteReported() {
+		start(request -> {
+			throw new ConnectException("Connexion refusée");
+		}, echoWorker());
+
+		List<TleData> satellites = fleet();
+		satellites.add(17, satellite(BAD_NORAD));
+		List<SatelliteEclipseSummary> summaries = coordinator.screenFleet(new FleetScreeningRequest(satellites, START, END, 60));
+
+		// Fusion dans l'ordre de la requête, y compris les lots réattribués
+		assertEquals(satellites.size(), summaries.size());
+		for (int i = 0; i < satellites.size(); i++) {
+			SatelliteEclipseSummary summary = summaries.get(i);
+			assertEquals(satellites.get(i).getSatelliteName(), summary.getSatelliteName());
+			String norad = FleetCoordinatorService.noradId(satellites.get(i));
+			if (norad.equals(BAD_NORAD)) {
+				assertNotNull(summary.getError());
+			} else {
+				assertNull(summary.getError(), summary.getSatelliteName());
+				assertEquals(Integer.parseInt(norad) % 100, summary.getEclipseCount());
+			}
+		}
+
+		// Le worker injoignable n'est sollicité que pour ses lots initiaux, puis exclu ;
+		// le satellite fautif ne provoque aucun découpage
+		assertEquals(initialBatches(satellites, WORKER_A), workerACalls.get());
+		assertEquals(initialBatches(satellites, WORKER_B) + initialBatches(satellites, WORKER_A), workerBCalls.get());
+	}
+
+	@Test
+	void invalidWindowIsRejectedBeforeDispatch() {
+		start(echoWorker(), echoWorker());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> coordinator.screenFleet(new FleetScreeningRequest(fleet(), END, START, 60)));
+		assertThrows(IllegalArgumentException.class,
+				() -> coordinator.screenFleet(new FleetScreeningRequest(fleet(), START, END, 0)));
+		assertEquals(0, workerACalls.get() + workerBCalls.get());
+	}
+
+	@Test
+	void slowWorkersAreRetriedWithoutBeingExcluded() {
+		// Chaque worker dépasse le délai de lecture sur son premier lot seulement
+		AtomicInteger timeoutsA = new AtomicInteger();
+		AtomicInteger timeoutsB = new AtomicInteger();
+		start(timeoutOnce(timeoutsA), timeoutOnce(timeoutsB));
+
+		List<TleData> satellites = fleet();
+		List<SatelliteEclipseSummary> summaries = coordinator.screenFleet(new FleetScreeningRequest(satellites, START, END, 60));
+
+		// Exclure un worker lent les aurait exclus tous les deux
+		assertEquals(1, timeoutsA.get());
+		assertEquals(1, timeoutsB.get());
+		for (SatelliteEclipseSummary summary : summaries) {
+			assertNull(summary.getError(), summary.getSatelliteName());
+		}
+	}
+
+	@Test
+	void serverErrorRetriesTheWholeBatchElsewhere() {
+		start(request -> withServerError().createResponse(request), echoWorker());
+
+		List<TleData> satellites = fleet();
+		List<SatelliteEclipseSummary> summaries = coordinator.screenFleet(new FleetScreeningRequest(satellites, START, END, 60));
+
+		for (SatelliteEclipseSummary summary : summaries) {
+			assertNull(summary.getError(), summary.getSatelliteName());
+		}
+		// Pas de découpage : chaque lot en erreur est renvoyé une seule fois, entier, à l'autre worker
+		assertEquals(initialBatches(satellites, WORKER_A), workerACalls.get());
+		assertEquals(initialBatches(satellites, WORKER_B) + initialBatches(satellites, WORKER_A), workerBCalls.get());
+	}
+
+	@Test
+	void clientErrorIsNotRetried() {
+		start(request -> withBadRequest().createResponse(request), echoWorker());
+
+		List<TleData> satellites = fleet();
+		List<SatelliteEclipseSummary> summaries = coordinator.screenFleet(new FleetScreeningRequest(satellites, START, END, 60));
+
+		for (int i = 0; i < satellites.size(); i++) {
+			boolean onA = worker(satellites.get(i)).equals(WORKER_A);
+			assertEquals(onA, summaries.get(i).getError() != null, summaries.get(i).getSatelliteName());
+		}
+		assertEquals(initialBatches(satellites, WORKER_A), workerACalls.get());
+		assertEquals(initialBatches(satellites, WORKER_B), workerBCalls.get());
+	}
+
+	@Test
+	void noWorkerLeftReturnsPartialResults() {
+		start(request -> {
+			throw new ConnectException("Connexion refusée");
+		}, request -> {
+			throw new ConnectException("Connexion refusée");
+		});
+
+		List<TleData> satellites = fleet();
+		List<SatelliteEclipseSummary> summaries = coordinator.screenFleet(new FleetScreeningRequest(satellites, START, END, 60));
+
+		assertEquals(satellites.size(), summaries.size());
+		for (int i = 0; i < satellites.size(); i++) {
+			assertEquals(satellites.get(i).getSatelliteName(), summaries.get(i).getSatelliteName());
+			assertNotNull(summaries.get(i).getError());
+		}
+	}
+
+	private void start(ResponseCreator workerA, ResponseCreator workerB) {
+		MockServerRestTemplateCustomizer customizer =
+				new MockServerRestTemplateCustomizer(UnorderedRequestExpectationManager.class);
+		coordinator = new FleetCoordinatorService(new RestTemplateBuilder(customizer),
+				List.of(WORKER_A, WORKER_B), BATCH_SIZE, MAX_ATTEMPTS, 2, 10);
+		MockRestServiceServer server = customizer.getServer();
+		server.expect(ExpectedCount.manyTimes(), requestTo(startsWith(WORKER_A)))
+				.andRespond(request -> {
+					workerACalls.incrementAndGet();
+					return workerA.createResponse(request);
+				});
+		server.expect(ExpectedCount.manyTimes(), requestTo(startsWith(WORKER_B)))
+				.andRespond(request -> {
+					workerBCalls.incrementAndGet();
+					return workerB.createResponse(request);
+				});
+	}
+
+	private ResponseCreator timeoutOnce(AtomicInteger timeouts) {
+		ResponseCreator echo = echoWorker();
+		return request -> {
+			if (timeouts.compareAndSet(0, 1)) {
+				throw new SocketTimeoutException("Read timed out");
+			}
+			return echo.createResponse(request);
+		};
+	}
+
+	/**
+	 * Worker sain : renvoie un bilan par satellite (nombre d'éclipses = NORAD modulo 100)
+	 * et signale le satellite fautif par un bilan en erreur, comme {@code /api/eclipse/screen}.
+	 */
+	private ResponseCreator echoWorker() {
+		return request -> {
+			String body = ((MockClientHttpRequest) request).getBodyAsString();
+			FleetScreeningRequest batch = objectMapper.readValue(body, FleetScreeningRequest.class);
+			List<SatelliteEclipseSummary> summaries = new ArrayList<>();
+			for (TleData tle : batch.getSatellites()) {
+				String norad = FleetCoordinatorService.noradId(tle);
+				if (norad.equals(BAD_NORAD)) {
+					summaries.add(new SatelliteEclipseSummary(tle.getSatelliteName(), 0, 0.0, "TLE invalide"));
+				} else {
+					summaries.add(new SatelliteEclipseSummary(tle.getSatelliteName(), Integer.parseInt(norad) % 100, 1.0));
+				}
+			}
+			return withSuccess(objectMapper.writeValueAsString(summaries), MediaType.APPLICATION_JSON)
+					.createResponse(request);
+		};
+	}
+
+	private static long initialBatches(List<TleData> satellites, String worker) {
+		long assigned = satellites.stream().filter(tle -> worker(tle).equals(worker)).count();
+		assertTrue(assigned > 0, worker);
+		return (assigned + BATCH_SIZE - 1) / BATCH_SIZE;
+	}
+
+	private static String worker(TleData tle) {
+		return new ConsistentHashRing(List.of(WORKER_A, WORKER_B))
+				.workerFor(FleetCoordinatorService.noradId(tle), Set.of());
+	}
+
+	private static List<TleData> fleet() {
+		List<TleData> satellites = new ArrayList<>();
+		for (int norad = 10000; norad < 10040; norad++) {
+			satellites.add(satellite(String.valueOf(norad)));
+		}
+		return satellites;
+	}
+
+	private static TleData satellite(String norad) {
+		return new TleData("SAT " + norad,
+				"1 " + norad + "U 98067A   22085.41476591  .00007277  00000-0  13908-3 0  9990",
+				"2 " + norad + "  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473");
+	}
+}
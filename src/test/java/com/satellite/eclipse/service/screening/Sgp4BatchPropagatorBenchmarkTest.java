@@ -0,0 +1,108 @@
+package com.satellite.eclipse.service.screening;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.orekit.data.DataContext;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+/**
+ * Banc de comparaison du moteur SGP4 par lots avec {@link TLEPropagator}.
+ *
+ * Désactivé par défaut ; à lancer avec :
+ * {@code ./mvnw test -Dtest=Sgp4BatchPropagatorBenchmarkTest -Dbenchmark=true [-Dbenchmark.satellites=10000] [-Dbenchmark.steps=288]}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class Sgp4BatchPropagatorBenchmarkTest {
+
+	@BeforeAll
+	static void loadOrekitData() {
+		DataContext.getDefault().getDataProvidersManager()
+				.addProvider(new DirectoryCrawler(new File("orekit-data-master")));
+	}
+
+	@Test
+	void batchEnginesAgainstTlePropagator() {
+		int satellites = Integer.getInteger("benchmark.satellites", 10_000);
+		int steps = Integer.getInteger("benchmark.steps", 288);
+		double step = 300.0;
+		AbsoluteDate reference = new AbsoluteDate(2025, 3, 25, 0, 0, 0.0, TimeScalesFactory.getUTC());
+		List<TLE> fleet = fleet(satellites, reference);
+
+		List<TLEPropagator> propagators = new ArrayList<>(satellites);
+		for (TLE tle : fleet) {
+			propagators.add(TLEPropagator.selectExtrapolator(tle));
+		}
+		Sgp4BatchPropagator scalar = new Sgp4BatchPropagator(fleet, reference, false);
+		Sgp4BatchPropagator vector = new Sgp4BatchPropagator(fleet, reference, true);
+		double[] x = new double[satellites];
+		double[] y = new double[satellites];
+		double[] z = new double[satellites];
+
+		// Deux passes : la première sert d'échauffement au JIT, seule la seconde est publiée
+		for (int pass = 0; pass < 2; pass++) {
+			long start = System.nanoTime();
+			double checksum = 0.0;
+			for (int k = 0; k < steps; k++) {
+				AbsoluteDate date = reference.shiftedBy(k * step);
+				for (TLEPropagator propagator : propagators) {
+					checksum += propagator.getPVCoordinates(date, propagator.getFrame()).getPosition().getX();
+				}
+			}
+			double orekit = (System.nanoTime() - start) / 1.0e9;
+			double batch = time(scalar, reference, steps, step, x, y, z);
+			double batchVector = vector.isVectorized() ? time(vector, reference, steps, step, x, y, z) : Double.NaN;
+
+			if (pass == 1) {
+				double propagations = (double) satellites * steps;
+				System.out.printf("SGP4 %d satellites x %d pas (%s)%n", satellites, steps, System.getProperty("java.vm.version"));
+				System.out.printf("  TLEPropagator      : %8.3f s, %7.1f ns/propagation%n", orekit, orekit * 1.0e9 / propagations);
+				System.out.printf("  lots, scalaire     : %8.3f s, %7.1f ns/propagation%n", batch, batch * 1.0e9 / propagations);
+				System.out.printf("  lots, API Vector   : %8.3f s, %7.1f ns/propagation%n", batchVector, batchVector * 1.0e9 / propagations);
+			}
+			assertTrue(Double.isFinite(checksum));
+		}
+	}
+
+	private static double time(Sgp4BatchPropagator engine, AbsoluteDate reference, int steps, double step,
+			double[] x, double[] y, double[] z) {
+		long start = System.nanoTime();
+		for (int k = 0; k < steps; k++) {
+			engine.propagate(reference.shiftedBy(k * step), k * step, x, y, z);
+		}
+		return (System.nanoTime() - start) / 1.0e9;
+	}
+
+	/**
+	 * Flotte LEO reproductible : 11 à 16 révolutions par jour, excentricité faible.
+	 */
+	private static List<TLE> fleet(int size, AbsoluteDate reference) {
+		Random random = new Random(42);
+		List<TLE> fleet = new ArrayList<>(size);
+		for (int k = 0; k < size; k++) {
+			double revolutionsPerDay = 11.0 + 5.0 * random.nextDouble();
+			fleet.add(new TLE(10000 + k % 90000, 'U', 2020, 1, "A", 0, 999,
+					reference.shiftedBy((random.nextDouble() - 0.5) * Constants.JULIAN_DAY),
+					revolutionsPerDay * 2.0 * Math.PI / Constants.JULIAN_DAY, 0.0, 0.0,
+					0.02 * random.nextDouble(),
+					Math.toRadians(100.0 * random.nextDouble()),
+					2.0 * Math.PI * random.nextDouble(),
+					2.0 * Math.PI * random.nextDouble(),
+					2.0 * Math.PI * random.nextDouble(),
+					1, 1.0e-5 + 3.0e-4 * random.nextDouble()));
+		}
+		return fleet;
+	}
+}
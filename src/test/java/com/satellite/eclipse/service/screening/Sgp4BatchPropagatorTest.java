@@ -0,0 +1,200 @@
+package com.satellite.eclipse.service.screening;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.analytical.tle.DeepSDP4;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+class Sgp4BatchPropagatorTest {
+
+	private static final String[][] TLES = {
+		{ "1 25544U 98067A   22085.41476591  .00007277  00000-0  13908-3 0  9990",
+		  "2 25544  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473" },
+		{ "1 40697U 15028A   25084.47617259 -.00000016  00000-0  21213-4 0  9997",
+		  "2 40697  98.5686 131.0303 0001113  82.1501 278.9845 14.30820665510128" },
+		{ "1 28874U 05038A   25084.53313657  .00000072  00000-0  00000-0 0  9994",
+		  "2 28874  55.7782 114.9025 0090068 248.1830 110.9596  2.00559640142150" },
+		// Période de Kozai 224,95 min, période de Brouwer 225,04 min : SDP4 pour Orekit
+		{ "1 90001U 25001A   25084.50000000  .00000000  00000-0  00000-0 0  9992",
+		  "2 90001  10.0000 120.0000 0010000  90.0000 270.0000  6.40142000000013" }
+	};
+
+	private static final String[] DECAYING = {
+		"1 25544U 98067A   22085.41476591  .00007277  00000-0  99999-0 0  9992",
+		"2 25544  51.6449 336.4797 0005408  61.7847  47.9568 15.49454906334473"
+	};
+
+	@BeforeAll
+	static void loadOrekitData() {
+		DataContext.getDefault().getDataProvidersManager()
+				.addProvider(new DirectoryCrawler(new File("orekit-data-master")));
+	}
+
+	@Test
+	void deepSpaceSelectionMatchesOrekit() {
+		List<TLE> tles = tles();
+		Sgp4BatchPropagator batch = new Sgp4BatchPropagator(tles, tles.get(0).getDate());
+
+		for (int j = 0; j < tles.size(); j++) {
+			boolean orekitDeepSpace = TLEPropagator.selectExtrapolator(tles.get(j)) instanceof DeepSDP4;
+			assertEquals(orekitDeepSpace, batch.isDeepSpace(j), "Satellite " + j);
+		}
+		assertFalse(batch.isDeepSpace(0));
+		assertFalse(batch.isDeepSpace(1));
+		assertTrue(batch.isDeepSpace(2));
+		assertTrue(batch.isDeepSpace(3));
+	}
+
+	@Test
+	void positionsMatchTlePropagator() {
+		List<TLE> tles = tles();
+		AbsoluteDate reference = tles.get(0).getDate();
+		Sgp4BatchPropagator batch = new Sgp4BatchPropagator(tles, reference);
+
+		double[] x = new double[tles.size()];
+		double[] y = new double[tles.size()];
+		double[] z = new double[tles.size()];
+		// Seuls les satellites proches de la Terre passent par le moteur SGP4 ; les autres
+		// sont propagés par TLEPropagator lui-même
+		for (int j = 0; j < 2; j++) {
+			TLEPropagator orekitPropagator = TLEPropagator.selectExtrapolator(tles.get(j));
+			for (double hours = -24.0; hours <= 24.0; hours += 1.5) {
+				AbsoluteDate date = tles.get(j).getDate().shiftedBy(hours * 3600.0);
+				double offset = date.durationFrom(reference);
+				batch.propagate(date, offset, x, y, z);
+
+				Vector3D expected = orekitPropagator.getPVCoordinates(date, orekitPropagator.getFrame()).getPosition();
+				double error = Vector3D.distance(expected, new Vector3D(x[j], y[j], z[j]));
+				assertTrue(error < Sgp4BatchPropagator.VALIDATION_TOLERANCE_METERS,
+						"Écart de " + error + " m pour le satellite " + j + " à " + hours + " h");
+			}
+		}
+	}
+
+	@Test
+	void shadowMarginMatchesEarthCone() {
+		Vector3D sun = new Vector3D(1.496e11, 0.0, 0.0);
+		double[] x = { -7.0e6, 7.0e6, 0.0 };
+		double[] y = { 0.0, 0.0, 7.0e6 };
+		double[] z = { 0.0, 0.0, 0.0 };
+		double[] margin = new double[3];
+		FleetScreener.umbraMargin(x, y, z, 3, sun, margin);
+
+		assertTrue(margin[0] < 0.0, "Satellite derrière la Terre: dans l'ombre");
+		assertTrue(margin[1] > 0.0, "Satellite côté Soleil: éclairé");
+		assertTrue(margin[2] > 0.0, "Satellite au terminateur: éclairé");
+	}
+
+	@Test
+	void screenFlagsEclipsesTruncatedByTheGrid() {
+		TLE iss = tles().get(0);
+		PVCoordinatesProvider sun = (date, frame) -> new TimeStampedPVCoordinates(date,
+				new Vector3D(1.496e11, 0.0, 0.0), Vector3D.ZERO);
+		List<double[]> eclipses = new ArrayList<>();
+		AbsoluteDate start = iss.getDate();
+		new FleetScreener(new Sgp4BatchPropagator(List.of(iss), start), sun, FramesFactory.getTEME())
+				.screen(start, 86400.0, 60.0, (index, entry, exit, complete) -> {
+					if (complete) {
+						eclipses.add(new double[] { entry, exit });
+					}
+				});
+		assertFalse(eclipses.isEmpty());
+
+		// Grille démarrant au milieu d'une éclipse et s'arrêtant avant sa sortie
+		double middle = 0.5 * (eclipses.get(0)[0] + eclipses.get(0)[1]);
+		AbsoluteDate shadowStart = start.shiftedBy(middle);
+		double duration = 0.25 * (eclipses.get(0)[1] - eclipses.get(0)[0]);
+		List<Boolean> flags = new ArrayList<>();
+		new FleetScreener(new Sgp4BatchPropagator(List.of(iss), shadowStart), sun, FramesFactory.getTEME())
+				.screen(shadowStart, duration, 60.0, (index, entry, exit, complete) -> {
+					assertEquals(0.0, entry);
+					assertEquals(duration, exit);
+					flags.add(complete);
+				});
+		assertEquals(List.of(false), flags);
+
+		assertThrows(IllegalArgumentException.class, () -> new FleetScreener(
+				new Sgp4BatchPropagator(List.of(iss), start), sun, FramesFactory.getTEME())
+				.screen(start, 3600.0, 0.0, (index, entry, exit, complete) -> { }));
+	}
+
+	@Test
+	void vectorKernelMatchesScalarLoop() {
+		assumeTrue(Sgp4BatchPropagator.isVectorApiAvailable(), "Module jdk.incubator.vector non chargé");
+		// Flotte dont la taille n'est pas un multiple du nombre de voies, avec un satellite "deep space"
+		List<TLE> fleet = new ArrayList<>();
+		for (int k = 0; k < 13; k++) {
+			fleet.addAll(tles());
+		}
+		fleet.add(new TLE(DECAYING[0], DECAYING[1]));
+		AbsoluteDate reference = fleet.get(0).getDate();
+		Sgp4BatchPropagator scalar = new Sgp4BatchPropagator(fleet, reference, false);
+		Sgp4BatchPropagator vector = new Sgp4BatchPropagator(fleet, reference, true);
+		assertFalse(scalar.isVectorized());
+		assertTrue(vector.isVectorized());
+
+		int n = fleet.size();
+		double[] x1 = new double[n];
+		double[] y1 = new double[n];
+		double[] z1 = new double[n];
+		double[] x2 = new double[n];
+		double[] y2 = new double[n];
+		double[] z2 = new double[n];
+		for (double hours = -24.0; hours <= 48.0; hours += 0.75) {
+			AbsoluteDate date = reference.shiftedBy(hours * 3600.0);
+			scalar.propagate(date, hours * 3600.0, x1, y1, z1);
+			vector.propagate(date, hours * 3600.0, x2, y2, z2);
+			for (int j = 0; j < n; j++) {
+				assertEquals(Double.isNaN(x1[j]), Double.isNaN(x2[j]), "Satellite " + j + " à " + hours + " h");
+				if (!Double.isNaN(x1[j])) {
+					double error = Vector3D.distance(new Vector3D(x1[j], y1[j], z1[j]), new Vector3D(x2[j], y2[j], z2[j]));
+					assertTrue(error < 1.0e-3, "Écart de " + error + " m pour le satellite " + j + " à " + hours + " h");
+				}
+			}
+		}
+	}
+
+	@Test
+	void decayedSatelliteIsReportedInvalid() {
+		TLE iss = tles().get(0);
+		// Même orbite avec un B* extrême : retombée en quelques heures
+		TLE decaying = new TLE(DECAYING[0], DECAYING[1]);
+		PVCoordinatesProvider sun = (date, frame) -> new TimeStampedPVCoordinates(date,
+				new Vector3D(1.496e11, 0.0, 0.0), Vector3D.ZERO);
+		AbsoluteDate start = iss.getDate();
+		List<Integer> eclipsing = new ArrayList<>();
+		double[] totals = new FleetScreener(new Sgp4BatchPropagator(List.of(iss, decaying), start), sun,
+				FramesFactory.getTEME())
+				.screen(start, 2 * 86400.0, 60.0, (index, entry, exit, complete) -> eclipsing.add(index));
+
+		assertTrue(totals[0] > 0.0);
+		assertTrue(Double.isNaN(totals[1]));
+		assertTrue(eclipsing.contains(0));
+	}
+
+	private static List<TLE> tles() {
+		List<TLE> tles = new ArrayList<>();
+		for (String[] lines : TLES) {
+			tles.add(new TLE(lines[0], lines[1]));
+		}
+		return tles;
+	}
+}